@@ -0,0 +1,51 @@
+package org.vescm.zooapi.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.vescm.zooapi.enums.RequestBudget;
+import org.vescm.zooapi.service.AnimalConcurrencyLimiter;
+import org.vescm.zooapi.service.AnimalRateLimiter;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class AdmissionBenchmark {
+    @Param({"1", "1024"})
+    private int clients;
+
+    private AnimalRateLimiter animalRateLimiter;
+    private AnimalConcurrencyLimiter animalConcurrencyLimiter;
+    private String[] keys;
+
+    @Setup
+    public void setUp() {
+        animalRateLimiter = new AnimalRateLimiter(new SimpleMeterRegistry(), true, "X-API-Key", 100_000,
+                1e9, 1000, 1e9, 1000);
+        animalConcurrencyLimiter = new AnimalConcurrencyLimiter(new SimpleMeterRegistry(), true, 4, 512, 0.9,
+                512, Duration.ofSeconds(1), 512, Duration.ofSeconds(1));
+        keys = new String[clients];
+        for (int i = 0; i < clients; i++) {
+            keys[i] = "key:client-" + i;
+        }
+    }
+
+    @Benchmark
+    @Threads(16)
+    public long rateLimit() {
+        return animalRateLimiter.tryAcquire(RequestBudget.READ, keys[ThreadLocalRandom.current().nextInt(keys.length)]);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public boolean admit() {
+        boolean admitted = animalConcurrencyLimiter.tryAcquire(RequestBudget.READ);
+        if (admitted) {
+            animalConcurrencyLimiter.release(RequestBudget.READ, 1_000, false);
+        }
+        return admitted;
+    }
+}
@@ -0,0 +1,88 @@
+package org.vescm.zooapi.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.vescm.zooapi.dto.AnimalDto;
+import org.vescm.zooapi.dto.AnimalQuantityDto;
+import org.vescm.zooapi.dto.BatchItemResultDto;
+import org.vescm.zooapi.enums.Kingdom;
+import org.vescm.zooapi.enums.Phylum;
+import org.vescm.zooapi.service.AnimalBatchService;
+import org.vescm.zooapi.service.AnimalService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class AnimalBatchBenchmark {
+    private static final int BATCH_SIZE = 100;
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private ConfigurableApplicationContext context;
+    private AnimalService animalService;
+    private AnimalBatchService animalBatchService;
+    private List<AnimalQuantityDto> increments;
+
+    @Setup
+    public void setUp() throws Exception {
+        context = BenchmarkApplication.start(BenchmarkApplication.UNBOUNDED_QUANTITY);
+        animalService = context.getBean(AnimalService.class);
+        animalBatchService = context.getBean(AnimalBatchService.class);
+        increments = new ArrayList<>();
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            AnimalDto animalDto = animalService.createAnimal(nextAnimal());
+            increments.add(new AnimalQuantityDto(animalDto.getId(), 1));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void createOneByOne() throws Exception {
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            animalService.createAnimal(nextAnimal());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public List<BatchItemResultDto> createInBatch() throws Exception {
+        List<AnimalDto> animals = new ArrayList<>();
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            animals.add(nextAnimal());
+        }
+        return animalBatchService.createAnimals(animals);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void incrementOneByOne() throws Exception {
+        for (AnimalQuantityDto increment : increments) {
+            animalService.increaseAnimalNumber(increment.getId(), increment.getQuantity());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public List<BatchItemResultDto> incrementInBatch() throws Exception {
+        return animalBatchService.increaseAnimalNumbers(increments);
+    }
+
+    private AnimalDto nextAnimal() {
+        return AnimalDto.builder()
+                .specie("Specie " + sequence.incrementAndGet())
+                .kingdom(Kingdom.ANIMAL)
+                .phylum(Phylum.CHORDATA)
+                .quantity(1)
+                .build();
+    }
+}
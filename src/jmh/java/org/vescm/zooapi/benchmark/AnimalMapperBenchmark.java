@@ -0,0 +1,41 @@
+package org.vescm.zooapi.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.vescm.zooapi.dto.AnimalDto;
+import org.vescm.zooapi.enums.Kingdom;
+import org.vescm.zooapi.enums.Phylum;
+import org.vescm.zooapi.mapper.AnimalMapper;
+import org.vescm.zooapi.model.Animal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AnimalMapperBenchmark {
+    @Param({"1", "100", "10000"})
+    private int size;
+
+    private final AnimalMapper animalMapper = AnimalMapper.INSTANCE;
+    private List<Animal> animals;
+
+    @Setup
+    public void setUp() {
+        animals = new ArrayList<>(size);
+        for (long i = 1; i <= size; i++) {
+            animals.add(new Animal(i, "Specie " + i, Kingdom.ANIMAL, Phylum.CHORDATA, 1, 0L));
+        }
+    }
+
+    @Benchmark
+    public AnimalDto toDto() {
+        return animalMapper.toDto(animals.get(0));
+    }
+
+    @Benchmark
+    public List<AnimalDto> toListDto() {
+        return animalMapper.toListDto(animals);
+    }
+}
@@ -0,0 +1,94 @@
+package org.vescm.zooapi.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.vescm.zooapi.dto.AnimalDto;
+import org.vescm.zooapi.dto.AnimalSearchCriteria;
+import org.vescm.zooapi.enums.CodedEnum;
+import org.vescm.zooapi.enums.Kingdom;
+import org.vescm.zooapi.enums.Phylum;
+import org.vescm.zooapi.service.AnimalService;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AnimalSearchBenchmark {
+    private static final int ROWS = 1_000_000;
+    private static final int PAGE_SIZE = 100;
+    private static final String COLUMNS = "select id, specie, kingdom, phylum, quantity from animal ";
+    private static final String FULL_SCAN = "use index () ";
+
+    @Param({"kingdom-phylum-quantity", "specie-prefix"})
+    private String filter;
+
+    private ConfigurableApplicationContext context;
+    private AnimalService animalService;
+    private JdbcTemplate jdbcTemplate;
+    private AnimalSearchCriteria criteria;
+    private String where;
+    private Object[] arguments;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        animalService = context.getBean(AnimalService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.update("insert into animal (id, specie, kingdom, phylum, quantity) " +
+                "select x, 'Specie ' || x, " + cycle(Kingdom.values()) + ", " + cycle(Phylum.values()) + ", " +
+                "mod(x, 11) from system_range(1, " + ROWS + ")");
+        jdbcTemplate.execute("analyze");
+        if ("specie-prefix".equals(filter)) {
+            criteria = AnimalSearchCriteria.builder().specie("Specie 99999").build();
+            where = "where specie like ? and id > ? ";
+            arguments = new Object[]{"Specie 99999%", 0L};
+        } else {
+            criteria = AnimalSearchCriteria.builder()
+                    .kingdom(Kingdom.ARCHAEBACTERIA)
+                    .phylum(Phylum.CNIDARIA)
+                    .minQuantity(10)
+                    .maxQuantity(10)
+                    .build();
+            where = "where kingdom = ? and phylum = ? and quantity between ? and ? and id > ? ";
+            arguments = new Object[]{Kingdom.ARCHAEBACTERIA.getCode(), Phylum.CNIDARIA.getCode(), 10, 10, 0L};
+        }
+        System.out.println(jdbcTemplate.queryForObject("explain " + sql(""), String.class, arguments));
+        System.out.println(jdbcTemplate.queryForObject("explain " + sql(FULL_SCAN), String.class, arguments));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<AnimalDto> searchService() {
+        return animalService.search(criteria, null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> indexedQuery() {
+        return jdbcTemplate.queryForList(sql(""), arguments);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> fullScanQuery() {
+        return jdbcTemplate.queryForList(sql(FULL_SCAN), arguments);
+    }
+
+    private String sql(String indexHint) {
+        return COLUMNS + indexHint + where + "order by id limit " + PAGE_SIZE;
+    }
+
+    private static String cycle(CodedEnum[] values) {
+        StringBuilder sql = new StringBuilder("case mod(x, " + values.length + ")");
+        for (int i = 0; i < values.length; i++) {
+            sql.append(" when ").append(i).append(" then ").append(values[i].getCode());
+        }
+        return sql.append(" end").toString();
+    }
+}
@@ -0,0 +1,44 @@
+package org.vescm.zooapi.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.*;
+import org.vescm.zooapi.dto.AnimalDto;
+import org.vescm.zooapi.enums.Kingdom;
+import org.vescm.zooapi.enums.Phylum;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AnimalSerializationBenchmark {
+    @Param({"1", "100", "10000"})
+    private int size;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private ObjectWriter listWriter;
+    private List<AnimalDto> animals;
+
+    @Setup
+    public void setUp() {
+        listWriter = objectMapper.writerFor(objectMapper.getTypeFactory()
+                .constructCollectionType(List.class, AnimalDto.class));
+        animals = new ArrayList<>(size);
+        for (long i = 1; i <= size; i++) {
+            animals.add(new AnimalDto(i, "Specie " + i, Kingdom.ANIMAL, Phylum.CHORDATA, 1));
+        }
+    }
+
+    @Benchmark
+    public byte[] writeList() throws Exception {
+        return listWriter.writeValueAsBytes(animals);
+    }
+
+    @Benchmark
+    public byte[] writeListWithoutTypedWriter() throws Exception {
+        return objectMapper.writeValueAsBytes(animals);
+    }
+}
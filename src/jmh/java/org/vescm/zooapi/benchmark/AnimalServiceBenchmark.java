@@ -0,0 +1,58 @@
+package org.vescm.zooapi.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.vescm.zooapi.dto.AnimalDto;
+import org.vescm.zooapi.enums.Kingdom;
+import org.vescm.zooapi.enums.Phylum;
+import org.vescm.zooapi.service.AnimalService;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class AnimalServiceBenchmark {
+    @Param({"false", "true"})
+    private boolean counters;
+
+    private ConfigurableApplicationContext context;
+    private AnimalService animalService;
+    private AnimalDto animal;
+
+    @Setup
+    public void setUp() throws Exception {
+        context = BenchmarkApplication.start(BenchmarkApplication.UNBOUNDED_QUANTITY,
+                "zooapi.counters.enabled=" + counters);
+        animalService = context.getBean(AnimalService.class);
+        animal = animalService.createAnimal(AnimalDto.builder()
+                .specie("Capybara")
+                .kingdom(Kingdom.ANIMAL)
+                .phylum(Phylum.CHORDATA)
+                .quantity(1)
+                .build());
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public AnimalDto increaseAnimalNumber() throws Exception {
+        return animalService.increaseAnimalNumber(animal.getId(), 1);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public AnimalDto getById() throws Exception {
+        return animalService.getById(animal.getId());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public AnimalDto getBySpecie() throws Exception {
+        return animalService.getBySpecie(animal.getSpecie());
+    }
+}
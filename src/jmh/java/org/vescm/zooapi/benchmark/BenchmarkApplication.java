@@ -0,0 +1,27 @@
+package org.vescm.zooapi.benchmark;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.vescm.zooapi.ZooapiApplication;
+
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+public class BenchmarkApplication {
+    public static final String UNBOUNDED_QUANTITY = "zooapi.animals.max=" + Integer.MAX_VALUE;
+
+    public static ConfigurableApplicationContext start(String... properties) {
+        String[] defaults = {
+                "spring.datasource.url=jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                "spring.main.banner-mode=off",
+                "logging.level.root=WARN"
+        };
+        return new SpringApplicationBuilder(ZooapiApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(Stream.concat(Arrays.stream(defaults), Arrays.stream(properties))
+                        .map(property -> "--" + property)
+                        .toArray(String[]::new));
+    }
+}
@@ -0,0 +1,60 @@
+package org.vescm.zooapi.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.vescm.zooapi.dto.AnimalDto;
+import org.vescm.zooapi.enums.Kingdom;
+import org.vescm.zooapi.enums.Phylum;
+import org.vescm.zooapi.mapper.AnimalMapper;
+import org.vescm.zooapi.model.Animal;
+import org.vescm.zooapi.repository.AnimalRepository;
+import org.vescm.zooapi.service.AnimalService;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class CreateAnimalBenchmark {
+    private final AtomicLong sequence = new AtomicLong();
+
+    private ConfigurableApplicationContext context;
+    private AnimalService animalService;
+    private AnimalRepository animalRepository;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start("zooapi.cache.enabled=false");
+        animalService = context.getBean(AnimalService.class);
+        animalRepository = context.getBean(AnimalRepository.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Animal checkThenInsert() {
+        AnimalDto animalDto = nextAnimal();
+        if (animalRepository.findBySpecie(animalDto.getSpecie()).isEmpty()) {
+            return animalRepository.save(AnimalMapper.INSTANCE.toModel(animalDto));
+        }
+        return null;
+    }
+
+    @Benchmark
+    public AnimalDto singleInsert() throws Exception {
+        return animalService.createAnimal(nextAnimal());
+    }
+
+    private AnimalDto nextAnimal() {
+        return AnimalDto.builder()
+                .specie("Specie " + sequence.incrementAndGet())
+                .kingdom(Kingdom.ANIMAL)
+                .phylum(Phylum.CHORDATA)
+                .quantity(1)
+                .build();
+    }
+}
@@ -0,0 +1,67 @@
+package org.vescm.zooapi.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.FileSystemUtils;
+import org.vescm.zooapi.dto.AnimalDto;
+import org.vescm.zooapi.enums.Kingdom;
+import org.vescm.zooapi.enums.Phylum;
+import org.vescm.zooapi.service.AnimalService;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class DurabilityBenchmark {
+    @Param({"0", "500"})
+    private String writeDelay;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private Path dataDir;
+    private ConfigurableApplicationContext context;
+    private AnimalService animalService;
+    private AnimalDto animal;
+
+    @Setup
+    public void setUp() throws Exception {
+        dataDir = Files.createTempDirectory("zooapi-durability");
+        context = BenchmarkApplication.start(
+                BenchmarkApplication.UNBOUNDED_QUANTITY,
+                "spring.profiles.active=persistent",
+                "zooapi.persistence.data-dir=" + dataDir,
+                "zooapi.persistence.write-delay=" + writeDelay);
+        animalService = context.getBean(AnimalService.class);
+        animal = animalService.createAnimal(animal("Capybara"));
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        context.close();
+        FileSystemUtils.deleteRecursively(dataDir);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public AnimalDto increaseAnimalNumber() throws Exception {
+        return animalService.increaseAnimalNumber(animal.getId(), 1);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public AnimalDto createAnimal() throws Exception {
+        return animalService.createAnimal(animal("Specie " + sequence.incrementAndGet()));
+    }
+
+    private static AnimalDto animal(String specie) {
+        return AnimalDto.builder()
+                .specie(specie)
+                .kingdom(Kingdom.ANIMAL)
+                .phylum(Phylum.CHORDATA)
+                .quantity(1)
+                .build();
+    }
+}
@@ -0,0 +1,94 @@
+package org.vescm.zooapi.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.vescm.zooapi.enums.CodedEnum;
+import org.vescm.zooapi.enums.Kingdom;
+import org.vescm.zooapi.enums.Phylum;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EnumStorageBenchmark {
+    private static final int ROWS = 1_000_000;
+
+    private Path directory;
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @Setup
+    public void setUp() throws Exception {
+        directory = Files.createTempDirectory("enum-storage");
+        dataSource = new SingleConnectionDataSource("jdbc:h2:" + directory.resolve("animals"), "sa", "", true);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        createTable("animal_string", "varchar(255)", false);
+        createTable("animal_code", "smallint", true);
+        jdbcTemplate.execute("checkpoint sync");
+        for (String table : new String[]{"ANIMAL_STRING", "ANIMAL_CODE"}) {
+            System.out.printf("%s uses %d bytes for %d rows%n", table,
+                    jdbcTemplate.queryForObject("select disk_space_used(?)", Long.class, table), ROWS);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        dataSource.destroy();
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public Object[] lookupStringEnums() {
+        return jdbcTemplate.queryForObject("select kingdom, phylum from animal_string where id = ?",
+                (rs, row) -> new Object[]{Kingdom.valueOf(rs.getString(1)), Phylum.valueOf(rs.getString(2))},
+                ThreadLocalRandom.current().nextLong(1, ROWS + 1));
+    }
+
+    @Benchmark
+    public Object[] lookupCodedEnums() {
+        return jdbcTemplate.queryForObject("select kingdom, phylum from animal_code where id = ?",
+                (rs, row) -> new Object[]{Kingdom.fromCode(rs.getShort(1)), Phylum.fromCode(rs.getShort(2))},
+                ThreadLocalRandom.current().nextLong(1, ROWS + 1));
+    }
+
+    @Benchmark
+    public Long filterStringEnums() {
+        return jdbcTemplate.queryForObject("select count(*) from animal_string " +
+                        "where kingdom = ? and phylum = ? and quantity = ?", Long.class,
+                Kingdom.ARCHAEBACTERIA.name(), Phylum.CNIDARIA.name(), 10);
+    }
+
+    @Benchmark
+    public Long filterCodedEnums() {
+        return jdbcTemplate.queryForObject("select count(*) from animal_code " +
+                        "where kingdom = ? and phylum = ? and quantity = ?", Long.class,
+                Kingdom.ARCHAEBACTERIA.getCode(), Phylum.CNIDARIA.getCode(), 10);
+    }
+
+    private void createTable(String table, String enumType, boolean coded) {
+        jdbcTemplate.execute("create table " + table + " (id bigint primary key, specie varchar(255) not null, " +
+                "kingdom " + enumType + " not null, phylum " + enumType + " not null, quantity integer not null)");
+        jdbcTemplate.execute("create index ix_" + table + " on " + table + " (kingdom, phylum, quantity)");
+        jdbcTemplate.update("insert into " + table + " select x, 'Specie ' || x, " +
+                cycle(Kingdom.values(), coded) + ", " + cycle(Phylum.values(), coded) + ", " +
+                "mod(x, 11) from system_range(1, " + ROWS + ")");
+    }
+
+    private static <E extends Enum<E> & CodedEnum> String cycle(E[] values, boolean coded) {
+        StringBuilder sql = new StringBuilder("case mod(x, " + values.length + ")");
+        for (int i = 0; i < values.length; i++) {
+            sql.append(" when ").append(i).append(" then ")
+                    .append(coded ? String.valueOf(values[i].getCode()) : "'" + values[i].name() + "'");
+        }
+        return sql.append(" end").toString();
+    }
+}
@@ -0,0 +1,79 @@
+package org.vescm.zooapi.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.vescm.zooapi.exception.AnimalLimitExceededException;
+import org.vescm.zooapi.exception.AnimalNotFoundException;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ExceptionPathBenchmark {
+    @Param({"16", "128"})
+    private int depth;
+
+    private final String specie = "Unicorn";
+
+    @Benchmark
+    public String notFoundWithStackTrace() {
+        try {
+            throwAt(depth, () -> new Exception("Animal " + " of specie: " + specie + " doesn't exist."));
+        } catch (Exception e) {
+            return e.getMessage();
+        }
+        return null;
+    }
+
+    @Benchmark
+    public String notFoundStackless() {
+        try {
+            throwAt(depth, () -> AnimalNotFoundException.ofSpecie(specie));
+        } catch (Exception e) {
+            return e.getMessage();
+        }
+        return null;
+    }
+
+    @Benchmark
+    public Object notFoundStacklessWithoutMessage() {
+        try {
+            throwAt(depth, () -> AnimalNotFoundException.ofSpecie(specie));
+        } catch (Exception e) {
+            return e;
+        }
+        return null;
+    }
+
+    @Benchmark
+    public String limitExceededWithStackTrace() {
+        try {
+            throwAt(depth, () -> new Exception("Can't have more animals of specie " + specie + "."));
+        } catch (Exception e) {
+            return e.getMessage();
+        }
+        return null;
+    }
+
+    @Benchmark
+    public String limitExceededStackless() {
+        try {
+            throwAt(depth, () -> new AnimalLimitExceededException(specie));
+        } catch (Exception e) {
+            return e.getMessage();
+        }
+        return null;
+    }
+
+    private static void throwAt(int depth, ExceptionFactory factory) throws Exception {
+        if (depth == 0) {
+            throw factory.create();
+        }
+        throwAt(depth - 1, factory);
+    }
+
+    @FunctionalInterface
+    private interface ExceptionFactory {
+        Exception create();
+    }
+}
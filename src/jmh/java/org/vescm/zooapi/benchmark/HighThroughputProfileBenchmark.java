@@ -0,0 +1,94 @@
+package org.vescm.zooapi.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.vescm.zooapi.constants.AnimalConstants;
+import org.vescm.zooapi.dto.AnimalDto;
+import org.vescm.zooapi.dto.AnimalSearchCriteria;
+import org.vescm.zooapi.dto.BatchItemResultDto;
+import org.vescm.zooapi.enums.Kingdom;
+import org.vescm.zooapi.enums.Phylum;
+import org.vescm.zooapi.service.AnimalBatchService;
+import org.vescm.zooapi.service.AnimalService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class HighThroughputProfileBenchmark {
+    private static final int ANIMALS = 10_000;
+    private static final int BATCH_SIZE = 100;
+
+    @Param({"default", "high-throughput"})
+    private String profile;
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private ConfigurableApplicationContext context;
+    private AnimalService animalService;
+    private AnimalBatchService animalBatchService;
+    private long[] ids;
+
+    @Setup
+    public void setUp() throws Exception {
+        context = BenchmarkApplication.start(
+                BenchmarkApplication.UNBOUNDED_QUANTITY,
+                "spring.profiles.active=" + profile,
+                "zooapi.cache.enabled=false");
+        animalService = context.getBean(AnimalService.class);
+        animalBatchService = context.getBean(AnimalBatchService.class);
+        ids = new long[ANIMALS];
+        for (int i = 0; i < ANIMALS; i += AnimalConstants.MAX_BATCH_SIZE) {
+            List<AnimalDto> animals = new ArrayList<>();
+            for (int j = 0; j < AnimalConstants.MAX_BATCH_SIZE; j++) {
+                animals.add(nextAnimal());
+            }
+            List<BatchItemResultDto> results = animalBatchService.createAnimals(animals);
+            for (int j = 0; j < results.size(); j++) {
+                ids[i + j] = results.get(j).getAnimal().getId();
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public AnimalDto getById() throws Exception {
+        return animalService.getById(ids[ThreadLocalRandom.current().nextInt(ids.length)]);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public List<AnimalDto> searchPage() {
+        return animalService.search(AnimalSearchCriteria.builder().kingdom(Kingdom.ANIMAL).build(),
+                ids[ThreadLocalRandom.current().nextInt(ids.length)], 20);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public List<BatchItemResultDto> createBatch() throws Exception {
+        List<AnimalDto> animals = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            animals.add(nextAnimal());
+        }
+        return animalBatchService.createAnimals(animals);
+    }
+
+    private AnimalDto nextAnimal() {
+        return AnimalDto.builder()
+                .specie("Specie " + sequence.incrementAndGet())
+                .kingdom(Kingdom.ANIMAL)
+                .phylum(Phylum.CHORDATA)
+                .quantity(1)
+                .build();
+    }
+}
@@ -0,0 +1,53 @@
+package org.vescm.zooapi.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.vescm.zooapi.dto.AnimalDto;
+import org.vescm.zooapi.enums.Kingdom;
+import org.vescm.zooapi.enums.Phylum;
+import org.vescm.zooapi.service.AnimalService;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MetricsOverheadBenchmark {
+    @Param({"false", "true"})
+    private boolean metrics;
+
+    private ConfigurableApplicationContext context;
+    private AnimalService animalService;
+    private AnimalDto animal;
+
+    @Setup
+    public void setUp() throws Exception {
+        context = BenchmarkApplication.start("zooapi.metrics.enabled=" + metrics);
+        animalService = context.getBean(AnimalService.class);
+        animal = animalService.createAnimal(AnimalDto.builder()
+                .specie("Capybara")
+                .kingdom(Kingdom.ANIMAL)
+                .phylum(Phylum.CHORDATA)
+                .quantity(1)
+                .build());
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public AnimalDto cachedGetById() throws Exception {
+        return animalService.getById(animal.getId());
+    }
+
+    @Benchmark
+    public Object missingSpecie() {
+        try {
+            return animalService.getBySpecie("Unicorn");
+        } catch (Exception e) {
+            return e;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package org.vescm.zooapi.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.vescm.zooapi.dto.AnimalDto;
+import org.vescm.zooapi.enums.Kingdom;
+import org.vescm.zooapi.enums.Phylum;
+import org.vescm.zooapi.service.AnimalService;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class QuantityStrategyBenchmark {
+    @Param({"atomic", "optimistic", "pessimistic"})
+    private String strategy;
+
+    @Param({"64", "8", "1"})
+    private int hotAnimals;
+
+    private ConfigurableApplicationContext context;
+    private AnimalService animalService;
+    private long[] ids;
+
+    @Setup
+    public void setUp() throws Exception {
+        context = BenchmarkApplication.start(
+                BenchmarkApplication.UNBOUNDED_QUANTITY,
+                "zooapi.quantity.strategy=" + strategy,
+                "zooapi.quantity.retry.max-attempts=20",
+                "spring.datasource.hikari.maximum-pool-size=16");
+        animalService = context.getBean(AnimalService.class);
+        ids = new long[hotAnimals];
+        for (int i = 0; i < hotAnimals; i++) {
+            ids[i] = animalService.createAnimal(AnimalDto.builder()
+                    .specie("Specie " + i)
+                    .kingdom(Kingdom.ANIMAL)
+                    .phylum(Phylum.CHORDATA)
+                    .quantity(1)
+                    .build()).getId();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public AnimalDto increaseAnimal() throws Exception {
+        try {
+            return animalService.increaseAnimalNumber(ids[ThreadLocalRandom.current().nextInt(ids.length)], 1);
+        } catch (ConcurrencyFailureException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package org.vescm.zooapi.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.vescm.zooapi.dto.AnimalDto;
+import org.vescm.zooapi.enums.Kingdom;
+import org.vescm.zooapi.enums.Phylum;
+import org.vescm.zooapi.service.AnimalService;
+import org.vescm.zooapi.service.AnimalSnapshots;
+import org.vescm.zooapi.snapshot.AnimalSnapshot;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 10)
+public class SnapshotStartupBenchmark {
+    private static final int ROWS = 100_000;
+
+    @Param({"mapped", "restored"})
+    private String firstRead;
+
+    private Path file;
+    private ConfigurableApplicationContext context;
+
+    @Setup(Level.Trial)
+    public void writeSnapshot() throws Exception {
+        file = Files.createTempDirectory("zooapi-snapshot").resolve("animals.snapshot");
+        List<AnimalDto> animals = new ArrayList<>();
+        for (long id = 1; id <= ROWS; id++) {
+            animals.add(new AnimalDto(id, "Specie " + id, Kingdom.ANIMAL, Phylum.CHORDATA, 5));
+        }
+        AnimalSnapshot.write(file, animals);
+    }
+
+    @TearDown(Level.Invocation)
+    public void stop() {
+        context.close();
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteSnapshot() throws Exception {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public AnimalDto bootToFirstRead() throws Exception {
+        context = BenchmarkApplication.start(
+                "zooapi.snapshot.enabled=true",
+                "zooapi.snapshot.path=" + file);
+        if ("restored".equals(firstRead)) {
+            context.getBean(AnimalSnapshots.class).awaitRestore();
+        }
+        return context.getBean(AnimalService.class).getBySpecie("Specie " + ROWS / 2);
+    }
+}
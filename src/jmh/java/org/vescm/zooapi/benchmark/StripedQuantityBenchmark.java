@@ -0,0 +1,54 @@
+package org.vescm.zooapi.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.vescm.zooapi.dto.AnimalDto;
+import org.vescm.zooapi.enums.Kingdom;
+import org.vescm.zooapi.enums.Phylum;
+import org.vescm.zooapi.service.AnimalService;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class StripedQuantityBenchmark {
+    @Param({"1", "4", "16"})
+    private int stripes;
+
+    private ConfigurableApplicationContext context;
+    private AnimalService animalService;
+    private AnimalDto animal;
+
+    @Setup
+    public void setUp() throws Exception {
+        context = BenchmarkApplication.start(
+                BenchmarkApplication.UNBOUNDED_QUANTITY,
+                "zooapi.stripes.count=" + stripes,
+                "spring.datasource.hikari.maximum-pool-size=16");
+        animalService = context.getBean(AnimalService.class);
+        animal = animalService.createAnimal(AnimalDto.builder()
+                .specie("Capybara")
+                .kingdom(Kingdom.ANIMAL)
+                .phylum(Phylum.CHORDATA)
+                .quantity(1)
+                .build());
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public AnimalDto increaseHotAnimal() throws Exception {
+        return animalService.increaseAnimalNumber(animal.getId(), 1);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public AnimalDto getHotAnimal() throws Exception {
+        return animalService.getById(animal.getId());
+    }
+}
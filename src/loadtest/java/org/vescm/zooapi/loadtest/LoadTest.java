@@ -0,0 +1,251 @@
+package org.vescm.zooapi.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.vescm.zooapi.ZooapiApplication;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class LoadTest {
+    private static final String PREFIX = "loadtest.";
+    private static final String APP_PREFIX = PREFIX + "app.";
+    private static final String JSON = "application/json";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<Route, RouteStats> stats = new EnumMap<>(Route.class);
+    private final List<Long> ids = new ArrayList<>();
+    private final List<String> species = new ArrayList<>();
+    private final Queue<Long> createdIds = new ConcurrentLinkedQueue<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final URI baseUri;
+    private final Workload workload;
+    private final int concurrency;
+    private final HttpClient client;
+    private final ExecutorService executor;
+    private volatile boolean running;
+
+    public LoadTest(URI baseUri, Workload workload, int concurrency, int threads) {
+        this.baseUri = baseUri;
+        this.workload = workload;
+        this.concurrency = concurrency;
+        this.executor = Executors.newFixedThreadPool(threads);
+        this.client = HttpClient.newBuilder()
+                .executor(executor)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        for (Route route : Route.values()) {
+            stats.put(route, new RouteStats());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Workload workload = Workload.fromName(property("workload", "read-heavy"));
+        int concurrency = Integer.parseInt(property("concurrency", "64"));
+        int threads = Integer.parseInt(property("threads", "8"));
+        int seed = Integer.parseInt(property("species", "1000"));
+        long warmupSeconds = Long.parseLong(property("warmup", "10"));
+        long durationSeconds = Long.parseLong(property("duration", "30"));
+        String api = property("api", "/api/v1/animals");
+
+        ConfigurableApplicationContext context = startApplication();
+        try {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            LoadTest loadTest = new LoadTest(URI.create("http://localhost:" + port + api), workload, concurrency, threads);
+            try {
+                loadTest.seed(seed);
+                Map<String, Object> report = loadTest.run(warmupSeconds, durationSeconds);
+                loadTest.print(report);
+                loadTest.write(report, Paths.get(property("report-dir", "build/reports/loadtest")));
+            } finally {
+                loadTest.executor.shutdownNow();
+            }
+        } finally {
+            context.close();
+        }
+    }
+
+    private static ConfigurableApplicationContext startApplication() {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("server.port", "0");
+        properties.put("spring.datasource.url", "jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1");
+        properties.put("spring.r2dbc.url", "r2dbc:h2:mem:///loadtest?options=DB_CLOSE_DELAY=-1");
+        properties.put("spring.main.banner-mode", "off");
+        properties.put("logging.level.root", "WARN");
+        properties.putAll(appProperties());
+        return new SpringApplicationBuilder(ZooapiApplication.class)
+                .run(properties.entrySet().stream()
+                        .map(property -> "--" + property.getKey() + "=" + property.getValue())
+                        .toArray(String[]::new));
+    }
+
+    private static Map<String, String> appProperties() {
+        Map<String, String> properties = new TreeMap<>();
+        System.getProperties().stringPropertyNames().stream()
+                .filter(name -> name.startsWith(APP_PREFIX))
+                .forEach(name -> properties.put(name.substring(APP_PREFIX.length()), System.getProperty(name)));
+        return properties;
+    }
+
+    private static String property(String name, String defaultValue) {
+        return System.getProperty(PREFIX + name, defaultValue);
+    }
+
+    private void seed(int count) throws IOException, InterruptedException {
+        for (int i = 0; i < count; i++) {
+            HttpResponse<byte[]> response = client.send(create(), HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() != 201) {
+                throw new IllegalStateException("Seeding failed with status " + response.statusCode());
+            }
+            JsonNode animal = objectMapper.readTree(response.body());
+            ids.add(animal.get("id").asLong());
+            species.add(animal.get("specie").asText());
+        }
+    }
+
+    private Map<String, Object> run(long warmupSeconds, long durationSeconds) throws InterruptedException {
+        CountDownLatch stopped = new CountDownLatch(concurrency);
+        running = true;
+        for (int i = 0; i < concurrency; i++) {
+            next(stopped);
+        }
+        TimeUnit.SECONDS.sleep(warmupSeconds);
+        stats.values().forEach(RouteStats::reset);
+        long start = System.nanoTime();
+        TimeUnit.SECONDS.sleep(durationSeconds);
+        running = false;
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+        stopped.await(30, TimeUnit.SECONDS);
+
+        Map<String, Object> routes = new LinkedHashMap<>();
+        stats.forEach((route, routeStats) -> routes.put(route.name(), routeStats.summarize(elapsedSeconds)));
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("workload", workload.name());
+        report.put("api", baseUri.getPath());
+        report.put("concurrency", concurrency);
+        report.put("properties", appProperties());
+        report.put("durationSeconds", elapsedSeconds);
+        report.put("routes", routes);
+        return report;
+    }
+
+    private void next(CountDownLatch stopped) {
+        if (!running) {
+            stopped.countDown();
+            return;
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Route route = workload.nextRoute(random);
+        Long deletedId = route == Route.DELETE ? createdIds.poll() : null;
+        if (route == Route.DELETE && deletedId == null) {
+            route = Route.FIND;
+        }
+        Route measuredRoute = route;
+        HttpRequest request = request(measuredRoute, deletedId, random);
+        long start = System.nanoTime();
+        client.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray()).whenComplete((response, error) -> {
+            stats.get(measuredRoute).record(System.nanoTime() - start, response, error);
+            if (measuredRoute == Route.CREATE && response != null && response.statusCode() == 201) {
+                try {
+                    createdIds.add(objectMapper.readTree(response.body()).get("id").asLong());
+                } catch (IOException ignored) {
+                }
+            }
+            next(stopped);
+        });
+    }
+
+    private HttpRequest request(Route route, Long deletedId, ThreadLocalRandom random) {
+        int index = workload.isHotKey() ? 0 : random.nextInt(ids.size());
+        long id = ids.get(index);
+        switch (route) {
+            case CREATE:
+                return create();
+            case FIND:
+                return HttpRequest.newBuilder(uri("/" + species.get(index).replace(" ", "%20"))).GET().build();
+            case LIST:
+                return HttpRequest.newBuilder(uri("?size=100&after=" + random.nextInt(ids.size()))).GET().build();
+            case DELETE:
+                return HttpRequest.newBuilder(uri("/" + deletedId)).DELETE().build();
+            case INCREMENT:
+                return patch(uri("/" + id + "/increment"));
+            case DECREMENT:
+                return patch(uri("/" + id + "/decrement"));
+            default:
+                throw new IllegalArgumentException("Unknown route " + route);
+        }
+    }
+
+    private HttpRequest create() {
+        String body = "{\"specie\":\"Specie " + sequence.incrementAndGet() + "\"," +
+                "\"kingdom\":\"ANIMAL\",\"phylum\":\"CHORDATA\",\"quantity\":5}";
+        return HttpRequest.newBuilder(uri(""))
+                .header("Content-Type", JSON)
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private HttpRequest patch(URI uri) {
+        return HttpRequest.newBuilder(uri)
+                .header("Content-Type", JSON)
+                .method("PATCH", HttpRequest.BodyPublishers.ofString("{\"quantity\":1}"))
+                .build();
+    }
+
+    private URI uri(String suffix) {
+        return URI.create(baseUri + suffix);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void print(Map<String, Object> report) {
+        System.out.printf("%nWorkload %s on %s with %d concurrent clients%n",
+                report.get("workload"), report.get("api"), concurrency);
+        ((Map<String, String>) report.get("properties")).forEach((name, value) ->
+                System.out.printf("  %s=%s%n", name, value));
+        System.out.printf("%-10s %10s %12s %10s %10s %10s %10s %8s %8s%n",
+                "route", "requests", "req/s", "p50 us", "p99 us", "p999 us", "max us", "4xx", "5xx+err");
+        ((Map<String, Map<String, Object>>) report.get("routes")).forEach((route, summary) ->
+                System.out.printf("%-10s %10d %12.1f %10d %10d %10d %10d %8d %8d%n",
+                        route,
+                        (long) summary.get("requests"),
+                        (double) summary.get("throughput"),
+                        (long) summary.get("p50Micros"),
+                        (long) summary.get("p99Micros"),
+                        (long) summary.get("p999Micros"),
+                        (long) summary.get("maxMicros"),
+                        (long) summary.get("clientErrors"),
+                        (long) summary.get("serverErrors") + (long) summary.get("failures")));
+    }
+
+    private void write(Map<String, Object> report, Path directory) throws IOException {
+        Files.createDirectories(directory);
+        Path file = directory.resolve(workload.name().toLowerCase() + "-" + System.currentTimeMillis() + ".json");
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), report);
+        System.out.println("Report written to " + file.toAbsolutePath());
+    }
+}
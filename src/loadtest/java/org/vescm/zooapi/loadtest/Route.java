@@ -0,0 +1,10 @@
+package org.vescm.zooapi.loadtest;
+
+public enum Route {
+    CREATE,
+    FIND,
+    LIST,
+    DELETE,
+    INCREMENT,
+    DECREMENT
+}
@@ -0,0 +1,40 @@
+package org.vescm.zooapi.loadtest;
+
+import java.util.Random;
+
+public enum Workload {
+    READ_HEAVY(false, 2, 60, 20, 2, 8, 8),
+    WRITE_HEAVY(false, 15, 10, 5, 10, 30, 30),
+    HOT_KEY(true, 0, 10, 0, 0, 45, 45);
+
+    private final boolean hotKey;
+    private final int[] cumulativeWeights;
+
+    Workload(boolean hotKey, int... weights) {
+        this.hotKey = hotKey;
+        this.cumulativeWeights = new int[weights.length];
+        int total = 0;
+        for (int i = 0; i < weights.length; i++) {
+            total += weights[i];
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    public boolean isHotKey() {
+        return hotKey;
+    }
+
+    public Route nextRoute(Random random) {
+        int value = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (value < cumulativeWeights[i]) {
+                return Route.values()[i];
+            }
+        }
+        throw new IllegalStateException("Weights do not cover " + value);
+    }
+
+    public static Workload fromName(String name) {
+        return valueOf(name.trim().toUpperCase().replace('-', '_'));
+    }
+}
@@ -0,0 +1,234 @@
+package org.vescm.zooapi.changelog;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+public final class AnimalChangeLog implements Closeable {
+    private static final String SUFFIX = ".log";
+    private static final int HEADER_SIZE = Integer.BYTES + Long.BYTES;
+    private static final int TRAILER_SIZE = Integer.BYTES;
+
+    private final Path directory;
+    private final long segmentSize;
+    private final NavigableMap<Long, Path> segments = new ConcurrentSkipListMap<>();
+    private FileChannel active;
+    private volatile long lastSequence;
+
+    private AnimalChangeLog(Path directory, long segmentSize) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+    }
+
+    public static AnimalChangeLog open(Path directory, long segmentSize) throws IOException {
+        Files.createDirectories(directory);
+        AnimalChangeLog log = new AnimalChangeLog(directory, segmentSize);
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(file -> file.getFileName().toString().endsWith(SUFFIX))
+                    .forEach(file -> log.segments.put(firstSequence(file), file));
+        }
+        if (log.segments.isEmpty()) {
+            log.openSegment(1);
+        } else {
+            log.recover(log.segments.lastEntry());
+        }
+        return log;
+    }
+
+    public long getLastSequence() {
+        return lastSequence;
+    }
+
+    public synchronized long append(byte[] payload) throws IOException {
+        int recordSize = HEADER_SIZE + payload.length + TRAILER_SIZE;
+        if (active.size() > 0 && active.size() + recordSize > segmentSize) {
+            active.force(false);
+            active.close();
+            openSegment(lastSequence + 1);
+        }
+        long sequence = lastSequence + 1;
+        ByteBuffer record = ByteBuffer.allocate(recordSize);
+        record.putInt(payload.length).putLong(sequence).put(payload).putInt(checksum(sequence, payload)).flip();
+        long position = active.position();
+        try {
+            while (record.hasRemaining()) {
+                active.write(record);
+            }
+        } catch (IOException e) {
+            active.truncate(position);
+            active.position(position);
+            throw e;
+        }
+        lastSequence = sequence;
+        notifyAll();
+        return sequence;
+    }
+
+    public int read(long since, int max, RecordConsumer consumer) throws IOException {
+        long last = lastSequence;
+        if (since >= last || max <= 0) {
+            return 0;
+        }
+        Long first = segments.floorKey(since + 1);
+        int read = 0;
+        for (Map.Entry<Long, Path> segment : segments.tailMap(first == null ? segments.firstKey() : first).entrySet()) {
+            FileChannel channel;
+            try {
+                channel = FileChannel.open(segment.getValue(), StandardOpenOption.READ);
+            } catch (NoSuchFileException e) {
+                continue;
+            }
+            try (channel) {
+                long position = 0;
+                long sequence = segment.getKey() - 1;
+                while (sequence < last && read < max) {
+                    Record record = readRecord(channel, position);
+                    if (record == null) {
+                        break;
+                    }
+                    sequence = record.sequence;
+                    position += HEADER_SIZE + record.payload.length + TRAILER_SIZE;
+                    if (sequence > since && sequence <= last) {
+                        consumer.accept(sequence, record.payload);
+                        read++;
+                    }
+                }
+                if (sequence >= last || read >= max) {
+                    return read;
+                }
+            }
+        }
+        return read;
+    }
+
+    public synchronized boolean awaitAfter(long sequence, long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (lastSequence <= sequence) {
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                return false;
+            }
+            wait(remaining);
+        }
+        return true;
+    }
+
+    public synchronized int deleteSegments(long maxBytes, long maxAgeMillis) throws IOException {
+        long now = System.currentTimeMillis();
+        long total = 0;
+        for (Path file : segments.values()) {
+            total += Files.size(file);
+        }
+        int deleted = 0;
+        while (segments.size() > 1) {
+            Map.Entry<Long, Path> oldest = segments.firstEntry();
+            long size = Files.size(oldest.getValue());
+            long age = now - Files.getLastModifiedTime(oldest.getValue()).toMillis();
+            if (total <= maxBytes && age <= maxAgeMillis) {
+                break;
+            }
+            segments.remove(oldest.getKey());
+            Files.deleteIfExists(oldest.getValue());
+            total -= size;
+            deleted++;
+        }
+        return deleted;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        active.force(false);
+        active.close();
+    }
+
+    private void recover(Map.Entry<Long, Path> segment) throws IOException {
+        active = FileChannel.open(segment.getValue(), StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long position = 0;
+        long sequence = segment.getKey() - 1;
+        Record record;
+        while ((record = readRecord(active, position)) != null && record.sequence == sequence + 1) {
+            sequence = record.sequence;
+            position += HEADER_SIZE + record.payload.length + TRAILER_SIZE;
+        }
+        active.truncate(position);
+        active.position(position);
+        lastSequence = sequence;
+    }
+
+    private void openSegment(long firstSequence) throws IOException {
+        Path file = directory.resolve(String.format("%020d%s", firstSequence, SUFFIX));
+        active = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        active.truncate(0);
+        segments.put(firstSequence, file);
+        lastSequence = firstSequence - 1;
+    }
+
+    private static Record readRecord(FileChannel channel, long position) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        if (!readFully(channel, header, position)) {
+            return null;
+        }
+        int length = header.getInt(0);
+        long sequence = header.getLong(Integer.BYTES);
+        if (length < 0 || position + HEADER_SIZE + length + TRAILER_SIZE > channel.size()) {
+            return null;
+        }
+        ByteBuffer body = ByteBuffer.allocate(length + TRAILER_SIZE);
+        if (!readFully(channel, body, position + HEADER_SIZE)) {
+            return null;
+        }
+        byte[] payload = new byte[length];
+        body.get(payload);
+        if (body.getInt() != checksum(sequence, payload)) {
+            return null;
+        }
+        return new Record(sequence, payload);
+    }
+
+    private static boolean readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                return false;
+            }
+        }
+        buffer.flip();
+        return true;
+    }
+
+    private static int checksum(long sequence, byte[] payload) {
+        CRC32C checksum = new CRC32C();
+        checksum.update(ByteBuffer.allocate(Long.BYTES).putLong(0, sequence));
+        checksum.update(payload);
+        return (int) checksum.getValue();
+    }
+
+    private static long firstSequence(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(0, name.length() - SUFFIX.length()));
+    }
+
+    @FunctionalInterface
+    public interface RecordConsumer {
+        void accept(long sequence, byte[] payload) throws IOException;
+    }
+
+    private static final class Record {
+        private final long sequence;
+        private final byte[] payload;
+
+        private Record(long sequence, byte[] payload) {
+            this.sequence = sequence;
+            this.payload = payload;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package org.vescm.zooapi.config;
+
+import com.zaxxer.hikari.SQLExceptionOverride;
+
+import java.sql.SQLException;
+
+public class H2LockTimeoutOverride implements SQLExceptionOverride {
+    static final int LOCK_TIMEOUT = 50200;
+
+    public SQLExceptionOverride.Override adjudicate(SQLException sqlException) {
+        return sqlException.getErrorCode() == LOCK_TIMEOUT
+                ? SQLExceptionOverride.Override.DO_NOT_EVICT
+                : SQLExceptionOverride.Override.CONTINUE_EVICT;
+    }
+}
@@ -0,0 +1,107 @@
+package org.vescm.zooapi.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class PermitDataSource extends DelegatingDataSource {
+    private final Semaphore permits;
+    private final long timeoutMillis;
+    private final ThreadLocal<AtomicInteger> held = ThreadLocal.withInitial(AtomicInteger::new);
+
+    public PermitDataSource(DataSource targetDataSource, int permits, long timeoutMillis) {
+        super(targetDataSource);
+        this.permits = new Semaphore(permits);
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    public int getAvailablePermits() {
+        return permits.availablePermits();
+    }
+
+    public int getQueueLength() {
+        return permits.getQueueLength();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        AtomicInteger connections = acquire();
+        try {
+            return withPermit(super.getConnection(), connections);
+        } catch (SQLException | RuntimeException e) {
+            release(connections);
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        AtomicInteger connections = acquire();
+        try {
+            return withPermit(super.getConnection(username, password), connections);
+        } catch (SQLException | RuntimeException e) {
+            release(connections);
+            throw e;
+        }
+    }
+
+    private AtomicInteger acquire() throws SQLException {
+        AtomicInteger connections = held.get();
+        if (connections.getAndIncrement() > 0) {
+            return connections;
+        }
+        try {
+            if (!permits.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                connections.decrementAndGet();
+                throw new SQLTransientConnectionException(
+                        "No JDBC permit available after " + timeoutMillis + " ms");
+            }
+            return connections;
+        } catch (InterruptedException e) {
+            connections.decrementAndGet();
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a JDBC permit", e);
+        }
+    }
+
+    private void release(AtomicInteger connections) {
+        if (connections.decrementAndGet() == 0) {
+            permits.release();
+        }
+    }
+
+    private Connection withPermit(Connection connection, AtomicInteger connections) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("equals")) {
+                        return proxy == args[0];
+                    }
+                    if (method.getName().equals("hashCode")) {
+                        return System.identityHashCode(proxy);
+                    }
+                    if (method.getName().equals("close") && released.compareAndSet(false, true)) {
+                        try {
+                            connection.close();
+                        } finally {
+                            release(connections);
+                        }
+                        return null;
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                });
+    }
+}
@@ -0,0 +1,50 @@
+package org.vescm.zooapi.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.vescm.zooapi.controller.ReactiveAnimalHandler;
+
+import javax.persistence.EntityManagerFactory;
+
+@Configuration
+@Profile("reactive")
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class ReactiveConfig {
+    private static final String ANIMALS_PATH = "/api/v2/animals";
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @Primary
+    public PlatformTransactionManager transactionManager(EntityManagerFactory entityManagerFactory) {
+        return new JpaTransactionManager(entityManagerFactory);
+    }
+
+    @Bean
+    public RouterFunction<ServerResponse> animalRoutes(ReactiveAnimalHandler handler) {
+        return RouterFunctions.route()
+                .POST(ANIMALS_PATH, handler::addAnimal)
+                .GET(ANIMALS_PATH, handler::listAnimals)
+                .GET(ANIMALS_PATH + "/stats", handler::statistics)
+                .GET(ANIMALS_PATH + "/{name}", handler::findAnimal)
+                .DELETE(ANIMALS_PATH + "/{id}", handler::deleteById)
+                .PATCH(ANIMALS_PATH + "/{id}/increment", handler::increment)
+                .PATCH(ANIMALS_PATH + "/{id}/decrement", handler::decrement)
+                .build();
+    }
+}
@@ -2,6 +2,7 @@ package org.vescm.zooapi.config;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
 import springfox.documentation.builders.ApiInfoBuilder;
 import springfox.documentation.builders.PathSelectors;
 import springfox.documentation.service.ApiInfo;
@@ -14,6 +15,7 @@ import static springfox.documentation.builders.RequestHandlerSelectors.basePacka
 
 @Configuration
 @EnableSwagger2
+@Profile("!reactive")
 public class Swagger {
     private static final String BASE_PACKAGE = "org.vescm.zooapi.controller";
     private static final String API_TITLE = "Zoo Animals API";
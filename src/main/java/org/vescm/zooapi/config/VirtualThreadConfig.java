@@ -0,0 +1,74 @@
+package org.vescm.zooapi.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Configuration
+@Profile("!reactive")
+@ConditionalOnProperty(name = "zooapi.threads.virtual", havingValue = "true")
+public class VirtualThreadConfig {
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService requestExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("zooapi.threads.virtual requires a Java 21 or newer runtime", e);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Could not create a virtual thread executor", e);
+        }
+    }
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer(ExecutorService requestExecutor) {
+        return protocolHandler -> protocolHandler.setExecutor(requestExecutor);
+    }
+
+    @Bean
+    public static BeanPostProcessor jdbcPermitPostProcessor(
+            @Value("${zooapi.threads.jdbc-permits:0}") int configuredPermits,
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize,
+            @Value("${spring.datasource.hikari.connection-timeout:30s}") Duration timeout,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        int permits = jdbcPermits(configuredPermits, poolSize);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource) || bean instanceof PermitDataSource) {
+                    return bean;
+                }
+                PermitDataSource dataSource = new PermitDataSource((DataSource) bean, permits, timeout.toMillis());
+                meterRegistry.ifAvailable(registry -> {
+                    Gauge.builder("zooapi.jdbc.permits.available", dataSource, PermitDataSource::getAvailablePermits)
+                            .description("JDBC permits left for virtual threads")
+                            .register(registry);
+                    Gauge.builder("zooapi.jdbc.permits.waiting", dataSource, PermitDataSource::getQueueLength)
+                            .description("Virtual threads waiting for a JDBC permit")
+                            .register(registry);
+                });
+                return dataSource;
+            }
+        };
+    }
+
+    static int jdbcPermits(int configuredPermits, int poolSize) {
+        if (configuredPermits > 0) {
+            return configuredPermits;
+        }
+        int carriers = Integer.getInteger("jdk.virtualThreadScheduler.parallelism",
+                Runtime.getRuntime().availableProcessors());
+        return Math.max(1, Math.min(poolSize, carriers));
+    }
+}
@@ -1,6 +1,9 @@
 package org.vescm.zooapi.constants;
 
 public class AnimalConstants {
-    public static int MIN = 0;
-    public static int MAX = 10;
+    public static final int MIN = 0;
+    public static final int MAX = 10;
+    public static final int PAGE_SIZE = 100;
+    public static final int MAX_PAGE_SIZE = 1000;
+    public static final int MAX_BATCH_SIZE = 1000;
 }
@@ -0,0 +1,127 @@
+package org.vescm.zooapi.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AllArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.vescm.zooapi.dto.ErrorDto;
+import org.vescm.zooapi.enums.RequestBudget;
+import org.vescm.zooapi.service.AnimalConcurrencyLimiter;
+import org.vescm.zooapi.service.AnimalRateLimiter;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+@Component
+@Profile("!reactive")
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@AllArgsConstructor(onConstructor = @__(@Autowired))
+public class AnimalAdmissionFilter extends OncePerRequestFilter {
+    private static final String ANIMALS_PATH = "/api/v1/animals";
+    private static final Set<String> STREAMING_PATHS = Set.of(ANIMALS_PATH + "/changes", ANIMALS_PATH + "/stream");
+
+    private final AnimalRateLimiter animalRateLimiter;
+    private final AnimalConcurrencyLimiter animalConcurrencyLimiter;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!animalRateLimiter.isEnabled() && !animalConcurrencyLimiter.isEnabled()) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !path.equals(ANIMALS_PATH) && !path.startsWith(ANIMALS_PATH + "/") || STREAMING_PATHS.contains(path);
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return true;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestBudget budget = HttpMethod.GET.matches(request.getMethod()) || HttpMethod.HEAD.matches(request.getMethod())
+                ? RequestBudget.READ
+                : RequestBudget.WRITE;
+        long waitNanos = animalRateLimiter.tryAcquire(budget, "ip:" + request.getRemoteAddr());
+        String apiKey = request.getHeader(animalRateLimiter.getClientHeader());
+        if (waitNanos == 0 && StringUtils.hasText(apiKey)) {
+            waitNanos = animalRateLimiter.tryAcquire(budget, "key:" + apiKey);
+        }
+        if (waitNanos > 0) {
+            reject(response, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1),
+                    "Rate limit exceeded, please retry later.");
+            return;
+        }
+        if (!animalConcurrencyLimiter.tryAcquire(budget)) {
+            reject(response, 1, "Server is at capacity, please retry later.");
+            return;
+        }
+        long start = System.nanoTime();
+        boolean dropped = true;
+        boolean async = false;
+        try {
+            chain.doFilter(request, response);
+            async = request.isAsyncStarted();
+            if (async) {
+                request.getAsyncContext().addListener(new ReleaseListener(budget, start));
+            }
+            dropped = response.getStatus() >= HttpStatus.INTERNAL_SERVER_ERROR.value();
+        } finally {
+            if (!async) {
+                animalConcurrencyLimiter.release(budget, System.nanoTime() - start, dropped);
+            }
+        }
+    }
+
+    private void reject(HttpServletResponse response, long retryAfterSeconds, String message) throws IOException {
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(),
+                new ErrorDto(HttpStatus.TOO_MANY_REQUESTS.value(), message));
+    }
+
+    @AllArgsConstructor
+    private final class ReleaseListener implements AsyncListener {
+        private final RequestBudget budget;
+        private final long start;
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            HttpServletResponse response = (HttpServletResponse) event.getSuppliedResponse();
+            animalConcurrencyLimiter.release(budget, System.nanoTime() - start,
+                    response.getStatus() >= HttpStatus.INTERNAL_SERVER_ERROR.value());
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
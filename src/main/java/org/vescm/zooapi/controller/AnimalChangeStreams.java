@@ -0,0 +1,123 @@
+package org.vescm.zooapi.controller;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.vescm.zooapi.dto.AnimalChangeDto;
+import org.vescm.zooapi.service.AnimalChanges;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Slf4j
+@Component
+@Profile("!reactive")
+public class AnimalChangeStreams {
+    private static final int BATCH_SIZE = 500;
+
+    private final AnimalChanges animalChanges;
+    private final Duration timeout;
+    private final Duration heartbeat;
+    private final int maxSubscribers;
+    private final Semaphore subscribers;
+    private final ExecutorService executor;
+
+    @Autowired
+    public AnimalChangeStreams(AnimalChanges animalChanges,
+                               @Value("${zooapi.changes.stream-timeout:30m}") Duration timeout,
+                               @Value("${zooapi.changes.heartbeat:15s}") Duration heartbeat,
+                               @Value("${zooapi.changes.max-subscribers:64}") int maxSubscribers,
+                               MeterRegistry meterRegistry) {
+        this.animalChanges = animalChanges;
+        this.timeout = timeout;
+        this.heartbeat = heartbeat;
+        this.maxSubscribers = maxSubscribers;
+        this.subscribers = new Semaphore(maxSubscribers);
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "animal-changes-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        Gauge.builder("zooapi.changes.subscribers", this, AnimalChangeStreams::getSubscribers)
+                .description("Open change stream subscriptions")
+                .register(meterRegistry);
+    }
+
+    public int getSubscribers() {
+        return maxSubscribers - subscribers.availablePermits();
+    }
+
+    public SseEmitter follow(long since) {
+        if (!animalChanges.isEnabled()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Change log is disabled");
+        }
+        if (!subscribers.tryAcquire()) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many change stream subscribers");
+        }
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        AtomicBoolean open = new AtomicBoolean(true);
+        emitter.onCompletion(() -> open.set(false));
+        emitter.onTimeout(() -> open.set(false));
+        emitter.onError(error -> open.set(false));
+        try {
+            executor.execute(() -> {
+                try {
+                    stream(emitter, since, open);
+                } finally {
+                    subscribers.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            subscribers.release();
+            throw e;
+        }
+        return emitter;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void stream(SseEmitter emitter, long since, AtomicBoolean open) {
+        long last = since;
+        try {
+            while (open.get()) {
+                List<AnimalChangeDto> changes = animalChanges.read(last, BATCH_SIZE);
+                for (AnimalChangeDto change : changes) {
+                    emitter.send(SseEmitter.event()
+                            .id(Long.toString(change.getSequence()))
+                            .name(change.getType().name())
+                            .data(change, MediaType.APPLICATION_JSON));
+                    last = change.getSequence();
+                }
+                if (changes.isEmpty() && !animalChanges.awaitAfter(last, heartbeat)) {
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                }
+            }
+        } catch (IOException e) {
+            log.debug("Change stream closed after sequence {}", last, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            emitter.complete();
+        } catch (RuntimeException e) {
+            emitter.completeWithError(e);
+        }
+    }
+}
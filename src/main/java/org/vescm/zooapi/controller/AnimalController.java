@@ -1,25 +1,47 @@
 package org.vescm.zooapi.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
 import lombok.AllArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.vescm.zooapi.constants.AnimalConstants;
 import org.vescm.zooapi.dto.AnimalDto;
+import org.vescm.zooapi.dto.AnimalQuantityDto;
+import org.vescm.zooapi.dto.AnimalSearchCriteria;
+import org.vescm.zooapi.dto.AnimalStatsDto;
+import org.vescm.zooapi.dto.BatchItemResultDto;
 import org.vescm.zooapi.dto.QuantityDto;
 import org.vescm.zooapi.exception.AnimalAlreadyExistsException;
+import org.vescm.zooapi.exception.AnimalBatchTooLargeException;
 import org.vescm.zooapi.exception.AnimalLimitExceededException;
 import org.vescm.zooapi.exception.AnimalNumberAlreadyZeroException;
 import org.vescm.zooapi.exception.AnimalNotFoundException;
+import org.vescm.zooapi.service.AnimalBatchService;
 import org.vescm.zooapi.service.AnimalService;
 
 import javax.validation.Valid;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/v1/animals")
 @AllArgsConstructor(onConstructor = @__(@Autowired))
 public class AnimalController {
     private final AnimalService animalService;
+    private final AnimalBatchService animalBatchService;
+    private final AnimalChangeStreams animalChangeStreams;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
@@ -27,14 +49,58 @@ public class AnimalController {
         return animalService.createAnimal(animalDto);
     }
 
+    @PostMapping("/batch")
+    public List<BatchItemResultDto> addAnimals(@RequestBody List<AnimalDto> animals)
+            throws AnimalBatchTooLargeException {
+        return animalBatchService.createAnimals(animals);
+    }
+
+    @GetMapping("/stats")
+    public AnimalStatsDto statistics() {
+        return animalService.getStatistics();
+    }
+
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter followChanges(@RequestParam(required = false) Long since,
+                                    @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return animalChangeStreams.follow(since != null ? since : lastEventId != null ? lastEventId : 0L);
+    }
+
     @GetMapping("/{name}")
     public AnimalDto findAnimal(@PathVariable String name) throws AnimalNotFoundException {
         return animalService.getBySpecie(name);
     }
 
     @GetMapping
-    public List<AnimalDto> listAnimals() {
-        return animalService.listAll();
+    public ResponseEntity<List<AnimalDto>> listAnimals(@RequestParam(required = false) Long after,
+                                                       @RequestParam(required = false) Integer size) {
+        int pageSize = AnimalService.pageSize(size == null ? AnimalConstants.PAGE_SIZE : size);
+        return page(animalService.listAll(after, pageSize), pageSize);
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<List<AnimalDto>> searchAnimals(AnimalSearchCriteria criteria,
+                                                         @RequestParam(required = false) Long after,
+                                                         @RequestParam(required = false) Integer size) {
+        int pageSize = AnimalService.pageSize(size == null ? AnimalConstants.PAGE_SIZE : size);
+        return page(animalService.search(criteria, after, pageSize), pageSize);
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public StreamingResponseBody streamAnimals() {
+        return outputStream -> {
+            try (SequenceWriter writer = objectMapper.writerFor(AnimalDto.class)
+                    .withRootValueSeparator("\n")
+                    .writeValues(outputStream)) {
+                animalService.streamAll(animalDto -> {
+                    try {
+                        writer.write(animalDto);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
     }
 
     @DeleteMapping("/{id}")
@@ -54,4 +120,29 @@ public class AnimalController {
             throws AnimalNotFoundException, AnimalNumberAlreadyZeroException {
         return animalService.decreaseAnimalNumber(id, quantityDTO.getQuantity());
     }
+
+    @PatchMapping("/batch/increment")
+    public List<BatchItemResultDto> incrementAll(@RequestBody List<AnimalQuantityDto> quantities)
+            throws AnimalBatchTooLargeException {
+        return animalBatchService.increaseAnimalNumbers(quantities);
+    }
+
+    @PatchMapping("/batch/decrement")
+    public List<BatchItemResultDto> decrementAll(@RequestBody List<AnimalQuantityDto> quantities)
+            throws AnimalBatchTooLargeException {
+        return animalBatchService.decreaseAnimalNumbers(quantities);
+    }
+
+    private static ResponseEntity<List<AnimalDto>> page(List<AnimalDto> animals, int pageSize) {
+        if (animals.size() < pageSize) {
+            return ResponseEntity.ok(animals);
+        }
+        String next = ServletUriComponentsBuilder.fromCurrentRequest()
+                .replaceQueryParam("after", animals.get(animals.size() - 1).getId())
+                .replaceQueryParam("size", pageSize)
+                .toUriString();
+        return ResponseEntity.ok()
+                .header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"")
+                .body(animals);
+    }
 }
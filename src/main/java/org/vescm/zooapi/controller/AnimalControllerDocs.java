@@ -4,8 +4,13 @@ import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiResponse;
 import io.swagger.annotations.ApiResponses;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.vescm.zooapi.dto.AnimalDto;
+import org.vescm.zooapi.dto.AnimalSearchCriteria;
+import org.vescm.zooapi.dto.AnimalStatsDto;
 import org.vescm.zooapi.exception.AnimalAlreadyExistsException;
 import org.vescm.zooapi.exception.AnimalNotFoundException;
 
@@ -27,11 +32,36 @@ public interface AnimalControllerDocs {
     })
     AnimalDto findByName(@PathVariable String specie) throws AnimalNotFoundException;
 
-    @ApiOperation(value = "Returns a list of all animals registered in the system")
+    @ApiOperation(value = "Returns species and animal totals overall, by kingdom and by phylum")
     @ApiResponses(value = {
-            @ApiResponse(code = 200, message = "List of all animals registered in the system"),
+            @ApiResponse(code = 200, message = "Current animal totals"),
     })
-    List<AnimalDto> listAnimals();
+    AnimalStatsDto statistics();
+
+    @ApiOperation(value = "Returns a page of animals registered in the system, ordered by id and starting after the given id")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Page of animals registered in the system, with a Link rel=next header when more may follow"),
+    })
+    ResponseEntity<List<AnimalDto>> listAnimals(Long after, Integer size);
+
+    @ApiOperation(value = "Returns a page of animals matching a specie prefix, kingdom, phylum and quantity range, ordered by id and starting after the given id")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Page of matching animals, with a Link rel=next header when more may follow"),
+    })
+    ResponseEntity<List<AnimalDto>> searchAnimals(AnimalSearchCriteria criteria, Long after, Integer size);
+
+    @ApiOperation(value = "Streams all animals registered in the system as newline delimited JSON")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "All animals registered in the system, one per line"),
+    })
+    StreamingResponseBody streamAnimals();
+
+    @ApiOperation(value = "Streams animal creations, deletions and quantity changes after the given sequence as Server-Sent Events")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Ordered change events, each with its sequence as event id"),
+            @ApiResponse(code = 404, message = "Change log is disabled.")
+    })
+    SseEmitter followChanges(Long since, Long lastEventId);
 
     @ApiOperation(value = "Delete an animal found by a given valid Id")
     @ApiResponses(value = {
@@ -0,0 +1,29 @@
+package org.vescm.zooapi.controller;
+
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.vescm.zooapi.dto.ErrorDto;
+import org.vescm.zooapi.exception.AnimalException;
+import org.vescm.zooapi.exception.AnimalNotFoundException;
+
+@RestControllerAdvice
+public class AnimalExceptionHandler {
+    @ExceptionHandler(AnimalException.class)
+    public ResponseEntity<ErrorDto> handleAnimalException(AnimalException e) {
+        HttpStatus status = statusOf(e);
+        return ResponseEntity.status(status).body(new ErrorDto(status.value(), e.getMessage()));
+    }
+
+    @ExceptionHandler(ConcurrencyFailureException.class)
+    public ResponseEntity<ErrorDto> handleConcurrencyFailure(ConcurrencyFailureException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(new ErrorDto(HttpStatus.CONFLICT.value(), "Animal was updated concurrently, please retry."));
+    }
+
+    public static HttpStatus statusOf(AnimalException e) {
+        return e instanceof AnimalNotFoundException ? HttpStatus.NOT_FOUND : HttpStatus.BAD_REQUEST;
+    }
+}
@@ -0,0 +1,92 @@
+package org.vescm.zooapi.controller;
+
+import lombok.AllArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.vescm.zooapi.service.AnimalResponseCache;
+import org.vescm.zooapi.service.AnimalResponseCache.CachedResponse;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.Set;
+
+@Component
+@Profile("!reactive")
+@AllArgsConstructor(onConstructor = @__(@Autowired))
+public class AnimalResponseCacheFilter extends OncePerRequestFilter {
+    private static final String ANIMALS_PATH = "/api/v1/animals";
+    private static final Set<String> UNCACHED_NAMES = Set.of("stats", "search", "stream", "batch", "changes");
+
+    private final AnimalResponseCache animalResponseCache;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!animalResponseCache.isEnabled() || !HttpMethod.GET.matches(request.getMethod())) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (path.equals(ANIMALS_PATH)) {
+            return false;
+        }
+        if (!path.startsWith(ANIMALS_PATH + "/")) {
+            return true;
+        }
+        String name = path.substring(ANIMALS_PATH.length() + 1);
+        return name.isEmpty() || name.indexOf('/') >= 0 || UNCACHED_NAMES.contains(name);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String key = request.getQueryString() == null
+                ? request.getRequestURI()
+                : request.getRequestURI() + "?" + request.getQueryString();
+        CachedResponse cached = animalResponseCache.get(key);
+        if (cached != null) {
+            if (cached.getLink() != null) {
+                response.setHeader(HttpHeaders.LINK, cached.getLink());
+            }
+            if (!new ServletWebRequest(request, response).checkNotModified(cached.getEtag())) {
+                write(cached, response);
+            }
+            return;
+        }
+
+        long version = animalResponseCache.version();
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        chain.doFilter(request, wrapper);
+        if (wrapper.getStatus() == HttpStatus.OK.value()) {
+            CachedResponse stored = animalResponseCache.put(key, version, wrapper.getContentAsByteArray(),
+                    wrapper.getHeader(HttpHeaders.LINK));
+            if (new ServletWebRequest(request, wrapper).checkNotModified(stored.getEtag())) {
+                wrapper.resetBuffer();
+            }
+        }
+        wrapper.copyBodyToResponse();
+    }
+
+    private static void write(CachedResponse cached, HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(cached.getLength());
+        ByteBuffer body = cached.getBody();
+        WritableByteChannel channel = Channels.newChannel(response.getOutputStream());
+        while (body.hasRemaining()) {
+            channel.write(body);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package org.vescm.zooapi.controller;
+
+import lombok.AllArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebInputException;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.vescm.zooapi.constants.AnimalConstants;
+import org.vescm.zooapi.dto.AnimalDto;
+import org.vescm.zooapi.dto.ErrorDto;
+import org.vescm.zooapi.dto.QuantityDto;
+import org.vescm.zooapi.exception.AnimalException;
+import org.vescm.zooapi.service.AnimalService;
+import org.vescm.zooapi.service.ReactiveAnimalService;
+import reactor.core.publisher.Mono;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Component
+@Profile("reactive")
+@AllArgsConstructor(onConstructor = @__(@Autowired))
+public class ReactiveAnimalHandler {
+    private final ReactiveAnimalService animalService;
+    private final Validator validator;
+
+    public Mono<ServerResponse> addAnimal(ServerRequest request) {
+        return body(request, AnimalDto.class)
+                .flatMap(animalService::createAnimal)
+                .flatMap(animalDto -> ServerResponse.status(HttpStatus.CREATED).bodyValue(animalDto))
+                .onErrorResume(this::errorResponse);
+    }
+
+    public Mono<ServerResponse> findAnimal(ServerRequest request) {
+        return animalService.getBySpecie(request.pathVariable("name"))
+                .flatMap(animalDto -> ServerResponse.ok().bodyValue(animalDto))
+                .onErrorResume(this::errorResponse);
+    }
+
+    public Mono<ServerResponse> statistics(ServerRequest request) {
+        return animalService.getStatistics()
+                .flatMap(stats -> ServerResponse.ok().bodyValue(stats));
+    }
+
+    public Mono<ServerResponse> listAnimals(ServerRequest request) {
+        return Mono.fromCallable(() -> AnimalService.pageSize(
+                request.queryParam("size").map(Integer::valueOf).orElse(AnimalConstants.PAGE_SIZE)))
+                .flatMap(pageSize -> animalService.listAll(
+                        request.queryParam("after").map(Long::valueOf).orElse(null), pageSize)
+                        .collectList()
+                        .flatMap(animals -> page(request, animals, pageSize)))
+                .onErrorMap(NumberFormatException.class, e -> new ServerWebInputException(e.getMessage()))
+                .onErrorResume(this::errorResponse);
+    }
+
+    public Mono<ServerResponse> deleteById(ServerRequest request) {
+        return id(request)
+                .flatMap(animalService::deleteById)
+                .then(ServerResponse.noContent().build())
+                .onErrorResume(this::errorResponse);
+    }
+
+    public Mono<ServerResponse> increment(ServerRequest request) {
+        return id(request)
+                .zipWith(body(request, QuantityDto.class))
+                .flatMap(idAndQuantity -> animalService.increaseAnimalNumber(
+                        idAndQuantity.getT1(), idAndQuantity.getT2().getQuantity()))
+                .flatMap(animalDto -> ServerResponse.ok().bodyValue(animalDto))
+                .onErrorResume(this::errorResponse);
+    }
+
+    public Mono<ServerResponse> decrement(ServerRequest request) {
+        return id(request)
+                .zipWith(body(request, QuantityDto.class))
+                .flatMap(idAndQuantity -> animalService.decreaseAnimalNumber(
+                        idAndQuantity.getT1(), idAndQuantity.getT2().getQuantity()))
+                .flatMap(animalDto -> ServerResponse.ok().bodyValue(animalDto))
+                .onErrorResume(this::errorResponse);
+    }
+
+    private static Mono<ServerResponse> page(ServerRequest request, List<AnimalDto> animals, int pageSize) {
+        ServerResponse.BodyBuilder response = ServerResponse.ok().contentType(MediaType.APPLICATION_JSON);
+        if (animals.size() >= pageSize) {
+            String next = UriComponentsBuilder.fromUri(request.uri())
+                    .replaceQueryParam("after", animals.get(animals.size() - 1).getId())
+                    .replaceQueryParam("size", pageSize)
+                    .toUriString();
+            response.header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        }
+        return response.bodyValue(animals);
+    }
+
+    private Mono<Long> id(ServerRequest request) {
+        return Mono.fromCallable(() -> Long.valueOf(request.pathVariable("id")))
+                .onErrorMap(NumberFormatException.class, e -> new ServerWebInputException(e.getMessage()));
+    }
+
+    private <T> Mono<T> body(ServerRequest request, Class<T> type) {
+        return request.bodyToMono(type)
+                .switchIfEmpty(Mono.error(() -> new ServerWebInputException("Request body is missing")))
+                .flatMap(this::validate);
+    }
+
+    private <T> Mono<T> validate(T item) {
+        Set<ConstraintViolation<T>> violations = validator.validate(item);
+        if (violations.isEmpty()) {
+            return Mono.just(item);
+        }
+        return Mono.error(new ServerWebInputException(violations.stream()
+                .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "))));
+    }
+
+    private Mono<ServerResponse> errorResponse(Throwable e) {
+        if (e instanceof AnimalException) {
+            return errorResponse(AnimalExceptionHandler.statusOf((AnimalException) e), e.getMessage());
+        }
+        if (e instanceof ResponseStatusException) {
+            ResponseStatusException statusException = (ResponseStatusException) e;
+            return errorResponse(statusException.getStatus(), statusException.getReason());
+        }
+        return Mono.error(e);
+    }
+
+    private Mono<ServerResponse> errorResponse(HttpStatus status, String message) {
+        return ServerResponse.status(status).bodyValue(new ErrorDto(status.value(), message));
+    }
+}
@@ -0,0 +1,35 @@
+package org.vescm.zooapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.vescm.zooapi.enums.AnimalChangeType;
+import org.vescm.zooapi.enums.Kingdom;
+import org.vescm.zooapi.enums.Phylum;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnimalChangeDto {
+    private long sequence;
+
+    private AnimalChangeType type;
+
+    private long timestamp;
+
+    private Long animalId;
+
+    private String specie;
+
+    private Kingdom kingdom;
+
+    private Phylum phylum;
+
+    private int quantity;
+
+    private int delta;
+
+    private Long reverts;
+}
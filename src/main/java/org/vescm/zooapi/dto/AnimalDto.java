@@ -7,10 +7,10 @@ import lombok.Builder;
 import org.vescm.zooapi.constants.AnimalConstants;
 import org.vescm.zooapi.enums.Kingdom;
 import org.vescm.zooapi.enums.Phylum;
+import org.vescm.zooapi.validation.WithinAnimalLimits;
 
 import javax.persistence.EnumType;
 import javax.persistence.Enumerated;
-import javax.validation.constraints.Max;
 import javax.validation.constraints.Min;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Size;
@@ -36,6 +36,6 @@ public class AnimalDto {
 
     @NotNull
     @Min(1)
-    @Max(10)
+    @WithinAnimalLimits
     private int quantity;
 }
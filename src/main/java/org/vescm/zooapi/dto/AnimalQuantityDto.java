@@ -0,0 +1,24 @@
+package org.vescm.zooapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.vescm.zooapi.validation.WithinAnimalLimits;
+
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnimalQuantityDto {
+    @NotNull
+    private Long id;
+
+    @NotNull
+    @Min(1)
+    @WithinAnimalLimits
+    private Integer quantity;
+}
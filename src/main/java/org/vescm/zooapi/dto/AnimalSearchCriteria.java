@@ -0,0 +1,24 @@
+package org.vescm.zooapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.vescm.zooapi.enums.Kingdom;
+import org.vescm.zooapi.enums.Phylum;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnimalSearchCriteria {
+    private String specie;
+
+    private Kingdom kingdom;
+
+    private Phylum phylum;
+
+    private Integer minQuantity;
+
+    private Integer maxQuantity;
+}
@@ -0,0 +1,28 @@
+package org.vescm.zooapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.vescm.zooapi.enums.Kingdom;
+import org.vescm.zooapi.enums.Phylum;
+
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnimalStatsDto {
+    private long species;
+
+    private long quantity;
+
+    private Map<Kingdom, Long> speciesByKingdom;
+
+    private Map<Kingdom, Long> quantityByKingdom;
+
+    private Map<Phylum, Long> speciesByPhylum;
+
+    private Map<Phylum, Long> quantityByPhylum;
+}
@@ -0,0 +1,16 @@
+package org.vescm.zooapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ErrorDto {
+    private int status;
+
+    private String message;
+}
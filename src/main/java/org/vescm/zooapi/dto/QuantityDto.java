@@ -4,8 +4,8 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.vescm.zooapi.validation.WithinAnimalLimits;
 
-import javax.validation.constraints.Max;
 import javax.validation.constraints.Min;
 import javax.validation.constraints.NotNull;
 
@@ -16,6 +16,6 @@ import javax.validation.constraints.NotNull;
 public class QuantityDto {
     @NotNull
     @Min(1)
-    @Max(10)
+    @WithinAnimalLimits
     private Integer quantity;
 }
@@ -0,0 +1,9 @@
+package org.vescm.zooapi.enums;
+
+public enum AnimalChangeType {
+    CREATED,
+    DELETED,
+    INCREASED,
+    DECREASED,
+    REVERTED
+}
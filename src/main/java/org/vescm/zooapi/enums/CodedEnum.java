@@ -0,0 +1,7 @@
+package org.vescm.zooapi.enums;
+
+public interface CodedEnum {
+    short getCode();
+
+    String getDisplayName();
+}
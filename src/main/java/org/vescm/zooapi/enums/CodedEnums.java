@@ -0,0 +1,33 @@
+package org.vescm.zooapi.enums;
+
+import java.lang.reflect.Array;
+
+final class CodedEnums {
+    private CodedEnums() {
+    }
+
+    @SuppressWarnings("unchecked")
+    static <E extends Enum<E> & CodedEnum> E[] indexByCode(Class<E> type) {
+        E[] values = type.getEnumConstants();
+        int maxCode = 0;
+        for (E value : values) {
+            maxCode = Math.max(maxCode, value.getCode());
+        }
+        E[] byCode = (E[]) Array.newInstance(type, maxCode + 1);
+        for (E value : values) {
+            if (value.getCode() < 0 || byCode[value.getCode()] != null) {
+                throw new IllegalStateException("Invalid " + type.getSimpleName() + " code " + value.getCode());
+            }
+            byCode[value.getCode()] = value;
+        }
+        return byCode;
+    }
+
+    static <E extends Enum<E> & CodedEnum> E fromCode(E[] byCode, Class<E> type, short code) {
+        E value = code >= 0 && code < byCode.length ? byCode[code] : null;
+        if (value == null) {
+            throw new IllegalArgumentException("Unknown " + type.getSimpleName() + " code " + code);
+        }
+        return value;
+    }
+}
@@ -1,13 +1,27 @@
 package org.vescm.zooapi.enums;
 
-public enum Kingdom {
-    ANIMAL("Animal"),
-    PLANTS("Plants"),
-    FUNGI("Fungi"),
-    PROTISTA("Protista"),
-    EUBACTERIA("Eubacteria"),
-    ARCHAEBACTERIA("Archaebacteria");
-
-    Kingdom(String kingdom) {
+import lombok.Getter;
+
+@Getter
+public enum Kingdom implements CodedEnum {
+    ANIMAL(1, "Animal"),
+    PLANTS(2, "Plants"),
+    FUNGI(3, "Fungi"),
+    PROTISTA(4, "Protista"),
+    EUBACTERIA(5, "Eubacteria"),
+    ARCHAEBACTERIA(6, "Archaebacteria");
+
+    private static final Kingdom[] BY_CODE = CodedEnums.indexByCode(Kingdom.class);
+
+    private final short code;
+    private final String displayName;
+
+    Kingdom(int code, String displayName) {
+        this.code = (short) code;
+        this.displayName = displayName;
+    }
+
+    public static Kingdom fromCode(short code) {
+        return CodedEnums.fromCode(BY_CODE, Kingdom.class, code);
     }
 }
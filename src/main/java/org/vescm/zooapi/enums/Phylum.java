@@ -1,10 +1,25 @@
 package org.vescm.zooapi.enums;
 
-public enum Phylum {
-    CNIDARIA("Cnidaria"),
-    MOLLUSCA("Mollusca"),
-    ARTHROPODA("Arthropoda"),
-    CHORDATA("Chordata");
+import lombok.Getter;
 
-    Phylum(String phylum) {}
+@Getter
+public enum Phylum implements CodedEnum {
+    CNIDARIA(1, "Cnidaria"),
+    MOLLUSCA(2, "Mollusca"),
+    ARTHROPODA(3, "Arthropoda"),
+    CHORDATA(4, "Chordata");
+
+    private static final Phylum[] BY_CODE = CodedEnums.indexByCode(Phylum.class);
+
+    private final short code;
+    private final String displayName;
+
+    Phylum(int code, String displayName) {
+        this.code = (short) code;
+        this.displayName = displayName;
+    }
+
+    public static Phylum fromCode(short code) {
+        return CodedEnums.fromCode(BY_CODE, Phylum.class, code);
+    }
 }
@@ -0,0 +1,13 @@
+package org.vescm.zooapi.enums;
+
+import java.util.Locale;
+
+public enum QuantityStrategy {
+    ATOMIC,
+    OPTIMISTIC,
+    PESSIMISTIC;
+
+    public static QuantityStrategy fromName(String name) {
+        return valueOf(name.trim().toUpperCase(Locale.ROOT));
+    }
+}
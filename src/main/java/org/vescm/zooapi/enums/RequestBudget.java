@@ -0,0 +1,6 @@
+package org.vescm.zooapi.enums;
+
+public enum RequestBudget {
+    READ,
+    WRITE
+}
@@ -1,11 +1,14 @@
 package org.vescm.zooapi.exception;
 
-import org.springframework.http.HttpStatus;
-import org.springframework.web.bind.annotation.ResponseStatus;
+public class AnimalAlreadyExistsException extends AnimalException {
+    private final String specie;
 
-@ResponseStatus(HttpStatus.BAD_REQUEST)
-public class AnimalAlreadyExistsException extends Exception {
     public AnimalAlreadyExistsException(String specie) {
-        super("Animal of specie " + specie + " already exists.");
+        this.specie = specie;
+    }
+
+    @Override
+    public String getMessage() {
+        return "Animal of specie " + specie + " already exists.";
     }
 }
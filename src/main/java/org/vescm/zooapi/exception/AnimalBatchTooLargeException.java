@@ -0,0 +1,16 @@
+package org.vescm.zooapi.exception;
+
+public class AnimalBatchTooLargeException extends AnimalException {
+    private final int size;
+    private final int maxSize;
+
+    public AnimalBatchTooLargeException(int size, int maxSize) {
+        this.size = size;
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    public String getMessage() {
+        return "Batch of " + size + " animals exceeds the limit of " + maxSize + ".";
+    }
+}
@@ -0,0 +1,10 @@
+package org.vescm.zooapi.exception;
+
+public abstract class AnimalException extends Exception {
+    protected AnimalException() {
+        super(null, null, false, false);
+    }
+
+    @Override
+    public abstract String getMessage();
+}
@@ -1,11 +1,14 @@
 package org.vescm.zooapi.exception;
 
-import org.springframework.http.HttpStatus;
-import org.springframework.web.bind.annotation.ResponseStatus;
+public class AnimalLimitExceededException extends AnimalException {
+    private final String specie;
 
-@ResponseStatus(HttpStatus.BAD_REQUEST)
-public class AnimalLimitExceededException extends Exception {
     public AnimalLimitExceededException(String specie) {
-        super("Can't have more animals of specie " + specie + ".");
+        this.specie = specie;
+    }
+
+    @Override
+    public String getMessage() {
+        return "Can't have more animals of specie " + specie + ".";
     }
 }
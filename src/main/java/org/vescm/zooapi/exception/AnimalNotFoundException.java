@@ -1,11 +1,30 @@
 package org.vescm.zooapi.exception;
 
-import org.springframework.http.HttpStatus;
-import org.springframework.web.bind.annotation.ResponseStatus;
+public class AnimalNotFoundException extends AnimalException {
+    private final String description;
+    private final Object key;
 
-@ResponseStatus(HttpStatus.NOT_FOUND)
-public class AnimalNotFoundException extends Exception {
     public AnimalNotFoundException(String description) {
-        super("Animal " + description + " doesn't exist.");
+        this(description, null);
+    }
+
+    private AnimalNotFoundException(String description, Object key) {
+        this.description = description;
+        this.key = key;
+    }
+
+    public static AnimalNotFoundException withId(Long id) {
+        return new AnimalNotFoundException(" with id: ", id);
+    }
+
+    public static AnimalNotFoundException ofSpecie(String specie) {
+        return new AnimalNotFoundException(" of specie: ", specie);
+    }
+
+    @Override
+    public String getMessage() {
+        return key == null
+                ? "Animal " + description + " doesn't exist."
+                : "Animal " + description + key + " doesn't exist.";
     }
 }
@@ -1,6 +1,7 @@
 package org.vescm.zooapi.mapper;
 
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.factory.Mappers;
 import org.vescm.zooapi.dto.AnimalDto;
 import org.vescm.zooapi.model.Animal;
@@ -10,6 +11,7 @@ import java.util.List;
 @Mapper
 public interface AnimalMapper {
     AnimalMapper INSTANCE = Mappers.getMapper(AnimalMapper.class);
+    @Mapping(target = "version", ignore = true)
     Animal toModel(AnimalDto animalDto);
     AnimalDto toDto(Animal animal);
     List<AnimalDto> toListDto(List<Animal> animals);
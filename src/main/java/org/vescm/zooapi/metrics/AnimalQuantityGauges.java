@@ -0,0 +1,33 @@
+package org.vescm.zooapi.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.vescm.zooapi.enums.Kingdom;
+import org.vescm.zooapi.enums.Phylum;
+import org.vescm.zooapi.service.AnimalStatistics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+@ConditionalOnProperty(name = "zooapi.metrics.enabled", havingValue = "true", matchIfMissing = true)
+public class AnimalQuantityGauges {
+    @Autowired
+    public AnimalQuantityGauges(AnimalStatistics animalStatistics, MeterRegistry meterRegistry) {
+        List<MultiGauge.Row<?>> rows = new ArrayList<>();
+        for (Kingdom kingdom : Kingdom.values()) {
+            for (Phylum phylum : Phylum.values()) {
+                rows.add(MultiGauge.Row.of(Tags.of("kingdom", kingdom.name(), "phylum", phylum.name()),
+                        animalStatistics, statistics -> statistics.quantity(kingdom, phylum)));
+            }
+        }
+        MultiGauge.builder("zooapi.animals.quantity")
+                .description("Total animal quantity by kingdom and phylum")
+                .register(meterRegistry)
+                .register(rows);
+    }
+}
@@ -0,0 +1,83 @@
+package org.vescm.zooapi.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.AllArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.vescm.zooapi.exception.AnimalAlreadyExistsException;
+import org.vescm.zooapi.exception.AnimalLimitExceededException;
+import org.vescm.zooapi.exception.AnimalNotFoundException;
+import org.vescm.zooapi.exception.AnimalNumberAlreadyZeroException;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+@Aspect
+@Component
+@ConditionalOnProperty(name = "zooapi.metrics.enabled", havingValue = "true", matchIfMissing = true)
+@AllArgsConstructor(onConstructor = @__(@Autowired))
+public class AnimalServiceMetrics {
+    private static final String OPERATIONS_METRIC = "zooapi.animals.operations";
+    private static final String EXCEPTIONS_METRIC = "zooapi.animals.exceptions";
+    private static final String SUCCESS = "success";
+    private static final Map<String, String> OPERATIONS = Map.of(
+            "createAnimal", "create",
+            "getById", "getById",
+            "getBySpecie", "getBySpecie",
+            "listAll", "listAll",
+            "increaseAnimalNumber", "increase",
+            "decreaseAnimalNumber", "decrease",
+            "deleteById", "delete");
+    private static final Map<Class<?>, String> OUTCOMES = Map.of(
+            AnimalNotFoundException.class, "not_found",
+            AnimalLimitExceededException.class, "limit_exceeded",
+            AnimalAlreadyExistsException.class, "already_exists",
+            AnimalNumberAlreadyZeroException.class, "already_zero");
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<String, Counter> exceptionCounters = new ConcurrentHashMap<>();
+
+    @Around("execution(public * org.vescm.zooapi.service.AnimalService.*(..))")
+    public Object record(ProceedingJoinPoint joinPoint) throws Throwable {
+        String operation = OPERATIONS.get(joinPoint.getSignature().getName());
+        if (operation == null) {
+            return joinPoint.proceed();
+        }
+        long start = System.nanoTime();
+        String outcome = SUCCESS;
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            outcome = OUTCOMES.getOrDefault(e.getClass(), "error");
+            if (!outcome.equals("error")) {
+                exceptionCounter(e.getClass().getSimpleName()).increment();
+            }
+            throw e;
+        } finally {
+            timer(operation, outcome).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer timer(String operation, String outcome) {
+        return timers.computeIfAbsent(operation + ':' + outcome, key -> Timer.builder(OPERATIONS_METRIC)
+                .description("Time spent in AnimalService operations")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+    }
+
+    private Counter exceptionCounter(String exception) {
+        return exceptionCounters.computeIfAbsent(exception, key -> Counter.builder(EXCEPTIONS_METRIC)
+                .description("Domain exceptions thrown by AnimalService")
+                .tag("exception", exception)
+                .register(meterRegistry));
+    }
+}
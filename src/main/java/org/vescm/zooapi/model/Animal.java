@@ -4,8 +4,12 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.vescm.zooapi.enums.Kingdom;
 import org.vescm.zooapi.enums.Phylum;
+import org.vescm.zooapi.model.converter.KingdomConverter;
+import org.vescm.zooapi.model.converter.PhylumConverter;
 
 import javax.persistence.*;
 
@@ -14,22 +18,34 @@ import javax.persistence.*;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "animal")
+@Table(indexes = {
+        @Index(name = "ux_animal_specie", columnList = "specie", unique = true),
+        @Index(name = "ix_animal_kingdom_phylum_quantity", columnList = "kingdom, phylum, quantity"),
+        @Index(name = "ix_animal_phylum_quantity", columnList = "phylum, quantity")
+})
 public class Animal {
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "animal_seq")
+    @SequenceGenerator(name = "animal_seq", sequenceName = "animal_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
     private String specie;
 
-    @Enumerated(EnumType.STRING)
+    @Convert(converter = KingdomConverter.class)
     @Column(nullable = false)
     private Kingdom kingdom;
 
-    @Enumerated(EnumType.STRING)
+    @Convert(converter = PhylumConverter.class)
     @Column(nullable = false)
     private Phylum phylum;
 
     @Column(nullable = false)
     private int quantity;
+
+    @Version
+    @Column(nullable = false)
+    private Long version;
 }
@@ -0,0 +1,19 @@
+package org.vescm.zooapi.model.converter;
+
+import org.vescm.zooapi.enums.Kingdom;
+
+import javax.persistence.AttributeConverter;
+import javax.persistence.Converter;
+
+@Converter
+public class KingdomConverter implements AttributeConverter<Kingdom, Short> {
+    @Override
+    public Short convertToDatabaseColumn(Kingdom kingdom) {
+        return kingdom == null ? null : kingdom.getCode();
+    }
+
+    @Override
+    public Kingdom convertToEntityAttribute(Short code) {
+        return code == null ? null : Kingdom.fromCode(code);
+    }
+}
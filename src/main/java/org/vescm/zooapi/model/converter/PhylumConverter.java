@@ -0,0 +1,19 @@
+package org.vescm.zooapi.model.converter;
+
+import org.vescm.zooapi.enums.Phylum;
+
+import javax.persistence.AttributeConverter;
+import javax.persistence.Converter;
+
+@Converter
+public class PhylumConverter implements AttributeConverter<Phylum, Short> {
+    @Override
+    public Short convertToDatabaseColumn(Phylum phylum) {
+        return phylum == null ? null : phylum.getCode();
+    }
+
+    @Override
+    public Phylum convertToEntityAttribute(Short code) {
+        return code == null ? null : Phylum.fromCode(code);
+    }
+}
@@ -0,0 +1,121 @@
+package org.vescm.zooapi.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.vescm.zooapi.dto.AnimalDto;
+import org.vescm.zooapi.enums.Kingdom;
+import org.vescm.zooapi.enums.Phylum;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@Repository
+public class AnimalQuantityStripeRepository {
+    private static final String ADD_SQL = "update animal_quantity_stripe set delta = delta + ? " +
+            "where animal_id = ? and stripe = ? and delta + ? between -down_limit and up_limit";
+    private static final String INSERT_SQL = "insert into animal_quantity_stripe " +
+            "(animal_id, stripe, delta, up_limit, down_limit) values (?, ?, 0, ?, ?)";
+    private static final String FIND_SQL = "select a.id, a.specie, a.kingdom, a.phylum, a.quantity + coalesce((" +
+            "select sum(s.delta) from animal_quantity_stripe s where s.animal_id = a.id), 0) from animal a ";
+    private static final RowMapper<AnimalDto> ANIMAL_MAPPER = (rs, rowNum) -> new AnimalDto(rs.getLong(1),
+            rs.getString(2), Kingdom.fromCode(rs.getShort(3)), Phylum.fromCode(rs.getShort(4)), rs.getInt(5));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final AnimalSecondLevelCache animalSecondLevelCache;
+
+    @Autowired
+    public AnimalQuantityStripeRepository(JdbcTemplate jdbcTemplate, AnimalSecondLevelCache animalSecondLevelCache) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.animalSecondLevelCache = animalSecondLevelCache;
+    }
+
+    public int add(long animalId, int stripe, int delta) {
+        return jdbcTemplate.update(ADD_SQL, delta, animalId, stripe, delta);
+    }
+
+    public Optional<AnimalDto> findById(long animalId) {
+        return jdbcTemplate.query(FIND_SQL + "where a.id = ?", ANIMAL_MAPPER, animalId).stream().findFirst();
+    }
+
+    public Optional<AnimalDto> findBySpecie(String specie) {
+        return jdbcTemplate.query(FIND_SQL + "where a.specie = ?", ANIMAL_MAPPER, specie).stream().findFirst();
+    }
+
+    public Integer quantity(long animalId) {
+        List<Integer> quantities = jdbcTemplate.queryForList("select a.quantity + coalesce((" +
+                "select sum(s.delta) from animal_quantity_stripe s where s.animal_id = a.id), 0) " +
+                "from animal a where a.id = ?", Integer.class, animalId);
+        return quantities.isEmpty() ? null : quantities.get(0);
+    }
+
+    public Integer lockQuantity(long animalId) {
+        List<Integer> quantities = jdbcTemplate.queryForList(
+                "select quantity from animal where id = ? for update", Integer.class, animalId);
+        return quantities.isEmpty() ? null : quantities.get(0);
+    }
+
+    public int lockPendingDelta(long animalId) {
+        return jdbcTemplate.queryForList("select delta from animal_quantity_stripe where animal_id = ? for update",
+                Integer.class, animalId)
+                .stream()
+                .mapToInt(Integer::intValue)
+                .sum();
+    }
+
+    public int pendingDelta(long animalId) {
+        Integer delta = jdbcTemplate.queryForObject(
+                "select coalesce(sum(delta), 0) from animal_quantity_stripe where animal_id = ?",
+                Integer.class, animalId);
+        return delta == null ? 0 : delta;
+    }
+
+    public Map<Long, Integer> pendingDeltas(Collection<Long> animalIds) {
+        Map<Long, Integer> deltas = new HashMap<>();
+        if (animalIds.isEmpty()) {
+            return deltas;
+        }
+        namedParameterJdbcTemplate.query("select animal_id, sum(delta) from animal_quantity_stripe " +
+                        "where animal_id in (:ids) group by animal_id",
+                Map.of("ids", animalIds),
+                rs -> {
+                    deltas.put(rs.getLong(1), rs.getInt(2));
+                });
+        return deltas;
+    }
+
+    public List<Long> findAnimalIdsWithPendingDelta() {
+        return jdbcTemplate.queryForList(
+                "select distinct animal_id from animal_quantity_stripe where delta <> 0", Long.class);
+    }
+
+    public void reset(long animalId, int quantity, int[] upLimits, int[] downLimits) {
+        animalSecondLevelCache.evict(animalId);
+        jdbcTemplate.update("update animal set quantity = ?, version = version + 1 where id = ?", quantity, animalId);
+        jdbcTemplate.update("delete from animal_quantity_stripe where animal_id = ?", animalId);
+        jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ps.setLong(1, animalId);
+                ps.setInt(2, i);
+                ps.setInt(3, upLimits[i]);
+                ps.setInt(4, downLimits[i]);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return upLimits.length;
+            }
+        });
+    }
+}
@@ -0,0 +1,14 @@
+package org.vescm.zooapi.repository;
+
+import org.vescm.zooapi.enums.Kingdom;
+import org.vescm.zooapi.enums.Phylum;
+
+public interface AnimalQuantityTotal {
+    Kingdom getKingdom();
+
+    Phylum getPhylum();
+
+    Long getSpecies();
+
+    Long getQuantity();
+}
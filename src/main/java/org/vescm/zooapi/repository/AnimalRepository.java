@@ -1,10 +1,59 @@
 package org.vescm.zooapi.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import org.vescm.zooapi.dto.AnimalDto;
 import org.vescm.zooapi.model.Animal;
 
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface AnimalRepository extends JpaRepository<Animal, Long> {
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+
+public interface AnimalRepository extends JpaRepository<Animal, Long>, AnimalRepositoryCustom {
     Optional<Animal> findBySpecie(String specie);
+
+    List<Animal> findBySpecieIn(Collection<String> species);
+
+    List<Animal> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select a from Animal a where a.id = :id")
+    Optional<Animal> findForUpdateById(@Param("id") Long id);
+
+    @Query("select a.kingdom as kingdom, a.phylum as phylum, count(a) as species, sum(a.quantity) as quantity " +
+            "from Animal a group by a.kingdom, a.phylum")
+    List<AnimalQuantityTotal> totalsByKingdomAndPhylum();
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("select new org.vescm.zooapi.dto.AnimalDto(a.id, a.specie, a.kingdom, a.phylum, a.quantity) " +
+            "from Animal a order by a.id")
+    Stream<AnimalDto> streamAll();
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update Animal a set a.quantity = a.quantity + :quantity, a.version = a.version + 1 " +
+            "where a.id = :id and a.quantity + :quantity <= :max")
+    int increaseQuantity(@Param("id") Long id, @Param("quantity") int quantity, @Param("max") int max);
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update Animal a set a.quantity = a.quantity - :quantity, a.version = a.version + 1 " +
+            "where a.id = :id and a.quantity - :quantity >= :min")
+    int decreaseQuantity(@Param("id") Long id, @Param("quantity") int quantity, @Param("min") int min);
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update Animal a set a.quantity = a.quantity + :delta, a.version = a.version + 1 where a.id = :id")
+    int addQuantity(@Param("id") Long id, @Param("delta") int delta);
 }
@@ -0,0 +1,12 @@
+package org.vescm.zooapi.repository;
+
+import org.vescm.zooapi.dto.AnimalDto;
+import org.vescm.zooapi.dto.AnimalSearchCriteria;
+
+import java.util.List;
+
+public interface AnimalRepositoryCustom {
+    int[] addQuantities(long[] ids, int[] deltas, int min, int max);
+
+    List<AnimalDto> search(AnimalSearchCriteria criteria, long afterId, int size);
+}
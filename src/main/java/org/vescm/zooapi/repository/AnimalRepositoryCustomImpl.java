@@ -0,0 +1,87 @@
+package org.vescm.zooapi.repository;
+
+import lombok.AllArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.vescm.zooapi.dto.AnimalDto;
+import org.vescm.zooapi.dto.AnimalSearchCriteria;
+import org.vescm.zooapi.model.Animal;
+
+import javax.persistence.EntityManager;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+@AllArgsConstructor(onConstructor = @__(@Autowired))
+public class AnimalRepositoryCustomImpl implements AnimalRepositoryCustom {
+    private static final String ADD_QUANTITY_SQL = "update animal set quantity = quantity + ?, version = version + 1 " +
+            "where id = ? and quantity + ? between ? and ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+    private final AnimalSecondLevelCache animalSecondLevelCache;
+
+    @Override
+    public int[] addQuantities(long[] ids, int[] deltas, int min, int max) {
+        animalSecondLevelCache.evict(ids);
+        return jdbcTemplate.batchUpdate(ADD_QUANTITY_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ps.setInt(1, deltas[i]);
+                ps.setLong(2, ids[i]);
+                ps.setInt(3, deltas[i]);
+                ps.setInt(4, min);
+                ps.setInt(5, max);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return ids.length;
+            }
+        });
+    }
+
+    @Override
+    public List<AnimalDto> search(AnimalSearchCriteria criteria, long afterId, int size) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<AnimalDto> query = builder.createQuery(AnimalDto.class);
+        Root<Animal> animal = query.from(Animal.class);
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(builder.greaterThan(animal.<Long>get("id"), afterId));
+        if (criteria.getSpecie() != null && !criteria.getSpecie().isEmpty()) {
+            predicates.add(builder.like(animal.<String>get("specie"), escapeLike(criteria.getSpecie()) + "%", '\\'));
+        }
+        if (criteria.getKingdom() != null) {
+            predicates.add(builder.equal(animal.get("kingdom"), criteria.getKingdom()));
+        }
+        if (criteria.getPhylum() != null) {
+            predicates.add(builder.equal(animal.get("phylum"), criteria.getPhylum()));
+        }
+        if (criteria.getMinQuantity() != null) {
+            predicates.add(builder.greaterThanOrEqualTo(animal.<Integer>get("quantity"), criteria.getMinQuantity()));
+        }
+        if (criteria.getMaxQuantity() != null) {
+            predicates.add(builder.lessThanOrEqualTo(animal.<Integer>get("quantity"), criteria.getMaxQuantity()));
+        }
+        query.select(builder.construct(AnimalDto.class,
+                animal.get("id"), animal.get("specie"), animal.get("kingdom"), animal.get("phylum"),
+                animal.get("quantity")))
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(builder.asc(animal.get("id")));
+        return entityManager.createQuery(query)
+                .setMaxResults(size)
+                .getResultList();
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+}
@@ -0,0 +1,36 @@
+package org.vescm.zooapi.repository;
+
+import lombok.AllArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.vescm.zooapi.model.Animal;
+
+import javax.persistence.Cache;
+import javax.persistence.EntityManagerFactory;
+
+@Component
+@AllArgsConstructor(onConstructor = @__(@Autowired))
+public class AnimalSecondLevelCache {
+    private final EntityManagerFactory entityManagerFactory;
+
+    public void evict(long... ids) {
+        Cache cache = entityManagerFactory.getCache();
+        evict(cache, ids);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(cache, ids);
+                }
+            });
+        }
+    }
+
+    private static void evict(Cache cache, long[] ids) {
+        for (long id : ids) {
+            cache.evict(Animal.class, id);
+        }
+    }
+}
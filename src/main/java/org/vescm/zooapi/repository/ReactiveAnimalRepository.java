@@ -0,0 +1,93 @@
+package org.vescm.zooapi.repository;
+
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Row;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import org.vescm.zooapi.enums.Kingdom;
+import org.vescm.zooapi.enums.Phylum;
+import org.vescm.zooapi.model.Animal;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Repository
+@Profile("reactive")
+public class ReactiveAnimalRepository {
+    private static final String COLUMNS = "id, specie, kingdom, phylum, quantity, version";
+
+    private final DatabaseClient databaseClient;
+
+    @Autowired
+    public ReactiveAnimalRepository(ConnectionFactory connectionFactory) {
+        this.databaseClient = DatabaseClient.create(connectionFactory);
+    }
+
+    public Mono<Animal> findById(Long id) {
+        return databaseClient.sql("select " + COLUMNS + " from animal where id = :id")
+                .bind("id", id)
+                .map(ReactiveAnimalRepository::toAnimal)
+                .one();
+    }
+
+    public Mono<Animal> findBySpecie(String specie) {
+        return databaseClient.sql("select " + COLUMNS + " from animal where specie = :specie")
+                .bind("specie", specie)
+                .map(ReactiveAnimalRepository::toAnimal)
+                .one();
+    }
+
+    public Flux<Animal> findPage(long afterId, int size) {
+        return databaseClient.sql("select " + COLUMNS + " from animal where id > :afterId order by id limit :size")
+                .bind("afterId", afterId)
+                .bind("size", size)
+                .map(ReactiveAnimalRepository::toAnimal)
+                .all();
+    }
+
+    public Mono<Animal> insert(Animal animal) {
+        return databaseClient.sql("select next value for animal_seq")
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .flatMap(id -> databaseClient.sql("insert into animal (" + COLUMNS + ") " +
+                        "values (:id, :specie, :kingdom, :phylum, :quantity, 0)")
+                        .bind("id", id)
+                        .bind("specie", animal.getSpecie())
+                        .bind("kingdom", animal.getKingdom().getCode())
+                        .bind("phylum", animal.getPhylum().getCode())
+                        .bind("quantity", animal.getQuantity())
+                        .fetch()
+                        .rowsUpdated()
+                        .thenReturn(new Animal(id, animal.getSpecie(), animal.getKingdom(), animal.getPhylum(),
+                                animal.getQuantity(), 0L)));
+    }
+
+    public Mono<Integer> deleteById(Long id) {
+        return databaseClient.sql("delete from animal where id = :id")
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Mono<Integer> addQuantity(Long id, int delta, int min, int max) {
+        return databaseClient.sql("update animal set quantity = quantity + :delta, version = version + 1 " +
+                "where id = :id and quantity + :delta between :min and :max")
+                .bind("delta", delta)
+                .bind("id", id)
+                .bind("min", min)
+                .bind("max", max)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    private static Animal toAnimal(Row row) {
+        return new Animal(
+                row.get("id", Long.class),
+                row.get("specie", String.class),
+                Kingdom.fromCode(row.get("kingdom", Short.class)),
+                Phylum.fromCode(row.get("phylum", Short.class)),
+                row.get("quantity", Integer.class),
+                row.get("version", Long.class));
+    }
+}
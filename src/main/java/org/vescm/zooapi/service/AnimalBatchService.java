@@ -0,0 +1,225 @@
+package org.vescm.zooapi.service;
+
+import lombok.AllArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.vescm.zooapi.constants.AnimalConstants;
+import org.vescm.zooapi.dto.AnimalDto;
+import org.vescm.zooapi.dto.AnimalQuantityDto;
+import org.vescm.zooapi.dto.BatchItemResultDto;
+import org.vescm.zooapi.exception.AnimalAlreadyExistsException;
+import org.vescm.zooapi.exception.AnimalBatchTooLargeException;
+import org.vescm.zooapi.exception.AnimalLimitExceededException;
+import org.vescm.zooapi.exception.AnimalNotFoundException;
+import org.vescm.zooapi.exception.AnimalNumberAlreadyZeroException;
+import org.vescm.zooapi.mapper.AnimalMapper;
+import org.vescm.zooapi.model.Animal;
+import org.vescm.zooapi.repository.AnimalRepository;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@AllArgsConstructor(onConstructor = @__(@Autowired))
+public class AnimalBatchService {
+    private final AnimalRepository animalRepository;
+    private final AnimalService animalService;
+    private final AnimalQuantityCounters animalQuantityCounters;
+    private final AnimalQuantityStripes animalQuantityStripes;
+    private final AnimalLimits animalLimits;
+    private final AnimalCache animalCache;
+    private final AnimalStatistics animalStatistics;
+    private final AnimalChanges animalChanges;
+    private final AnimalSnapshots animalSnapshots;
+    private final Validator validator;
+    private final PlatformTransactionManager transactionManager;
+    private final AnimalMapper animalMapper = AnimalMapper.INSTANCE;
+
+    public List<BatchItemResultDto> createAnimals(List<AnimalDto> animals) throws AnimalBatchTooLargeException {
+        checkBatchSize(animals.size());
+        animalSnapshots.awaitRestore();
+        BatchItemResultDto[] results = new BatchItemResultDto[animals.size()];
+        Map<String, Integer> indexesBySpecie = new LinkedHashMap<>();
+        for (int i = 0; i < animals.size(); i++) {
+            AnimalDto animalDto = animals.get(i);
+            String violations = validate(animalDto);
+            if (violations != null) {
+                results[i] = failure(i, HttpStatus.BAD_REQUEST, violations);
+            } else if (indexesBySpecie.putIfAbsent(animalDto.getSpecie(), i) != null) {
+                results[i] = failure(i, HttpStatus.BAD_REQUEST,
+                        new AnimalAlreadyExistsException(animalDto.getSpecie()).getMessage());
+            }
+        }
+        if (!indexesBySpecie.isEmpty()) {
+            for (Animal existingAnimal : animalRepository.findBySpecieIn(indexesBySpecie.keySet())) {
+                int index = indexesBySpecie.remove(existingAnimal.getSpecie());
+                results[index] = failure(index, HttpStatus.BAD_REQUEST,
+                        new AnimalAlreadyExistsException(existingAnimal.getSpecie()).getMessage());
+            }
+        }
+        if (!indexesBySpecie.isEmpty()) {
+            insertAll(animals, new ArrayList<>(indexesBySpecie.values()), results);
+        }
+        return Arrays.asList(results);
+    }
+
+    public List<BatchItemResultDto> increaseAnimalNumbers(List<AnimalQuantityDto> quantities)
+            throws AnimalBatchTooLargeException {
+        return updateQuantities(quantities, 1);
+    }
+
+    public List<BatchItemResultDto> decreaseAnimalNumbers(List<AnimalQuantityDto> quantities)
+            throws AnimalBatchTooLargeException {
+        return updateQuantities(quantities, -1);
+    }
+
+    private void insertAll(List<AnimalDto> animals, List<Integer> indexes, BatchItemResultDto[] results) {
+        List<Animal> newAnimals = animalMapper.toModel(indexes.stream()
+                .map(animals::get)
+                .collect(Collectors.toList()));
+        newAnimals.forEach(animal -> animal.setId(null));
+        try {
+            List<AnimalDto> createdAnimals = new TransactionTemplate(transactionManager).execute(status -> {
+                List<Animal> saved = animalRepository.saveAll(newAnimals);
+                animalRepository.flush();
+                List<AnimalDto> created = animalMapper.toListDto(saved);
+                created.forEach(animalDto -> {
+                    animalStatistics.created(animalDto);
+                    animalChanges.created(animalDto);
+                });
+                return created;
+            });
+            for (int i = 0; i < indexes.size(); i++) {
+                int index = indexes.get(i);
+                results[index] = success(index, HttpStatus.CREATED, createdAnimals.get(i));
+            }
+        } catch (DataIntegrityViolationException e) {
+            for (int index : indexes) {
+                try {
+                    results[index] = success(index, HttpStatus.CREATED, animalService.createAnimal(animals.get(index)));
+                } catch (AnimalAlreadyExistsException ex) {
+                    results[index] = failure(index, HttpStatus.BAD_REQUEST, ex.getMessage());
+                }
+            }
+        }
+    }
+
+    private List<BatchItemResultDto> updateQuantities(List<AnimalQuantityDto> quantities, int sign)
+            throws AnimalBatchTooLargeException {
+        checkBatchSize(quantities.size());
+        animalSnapshots.awaitRestore();
+        BatchItemResultDto[] results = new BatchItemResultDto[quantities.size()];
+        List<Integer> indexes = new ArrayList<>();
+        for (int i = 0; i < quantities.size(); i++) {
+            String violations = validate(quantities.get(i));
+            if (violations != null) {
+                results[i] = failure(i, HttpStatus.BAD_REQUEST, violations);
+            } else {
+                indexes.add(i);
+            }
+        }
+        if (animalQuantityCounters.isEnabled() || animalQuantityStripes.isEnabled()) {
+            indexes.forEach(index -> results[index] = updateQuantity(index, quantities.get(index), sign));
+        } else if (!indexes.isEmpty()) {
+            updateQuantitiesInBatch(quantities, indexes, sign, results);
+        }
+        return Arrays.asList(results);
+    }
+
+    private BatchItemResultDto updateQuantity(int index, AnimalQuantityDto quantity, int sign) {
+        try {
+            return success(index, HttpStatus.OK, sign > 0
+                    ? animalService.increaseAnimalNumber(quantity.getId(), quantity.getQuantity())
+                    : animalService.decreaseAnimalNumber(quantity.getId(), quantity.getQuantity()));
+        } catch (AnimalNotFoundException e) {
+            return failure(index, HttpStatus.NOT_FOUND, e.getMessage());
+        } catch (AnimalLimitExceededException | AnimalNumberAlreadyZeroException e) {
+            return failure(index, HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    private void updateQuantitiesInBatch(List<AnimalQuantityDto> quantities, List<Integer> indexes, int sign,
+                                         BatchItemResultDto[] results) {
+        long[] ids = new long[indexes.size()];
+        int[] deltas = new int[indexes.size()];
+        for (int i = 0; i < indexes.size(); i++) {
+            AnimalQuantityDto quantity = quantities.get(indexes.get(i));
+            ids[i] = quantity.getId();
+            deltas[i] = sign * quantity.getQuantity();
+        }
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            int[] updated = animalRepository.addQuantities(ids, deltas, animalLimits.getMin(), animalLimits.getMax());
+            Map<Long, AnimalDto> animals = animalRepository.findAllById(Arrays.stream(ids).boxed()
+                    .distinct()
+                    .collect(Collectors.toList()))
+                    .stream()
+                    .map(animalMapper::toDto)
+                    .collect(Collectors.toMap(AnimalDto::getId, Function.identity()));
+            animals.values().forEach(animalCache::evict);
+            for (int i = 0; i < indexes.size(); i++) {
+                int index = indexes.get(i);
+                AnimalDto animalDto = animals.get(ids[i]);
+                if (animalDto == null) {
+                    results[index] = failure(index, HttpStatus.NOT_FOUND,
+                            AnimalNotFoundException.withId(ids[i]).getMessage());
+                } else if (updated[i] == 0) {
+                    results[index] = failure(index, HttpStatus.BAD_REQUEST, sign > 0
+                            ? new AnimalLimitExceededException(animalDto.getSpecie()).getMessage()
+                            : new AnimalNumberAlreadyZeroException().getMessage());
+                } else {
+                    animalStatistics.quantityChanged(animalDto, deltas[i]);
+                    animalChanges.quantityChanged(animalDto, deltas[i]);
+                    results[index] = success(index, HttpStatus.OK, animalDto);
+                }
+            }
+        });
+    }
+
+    private void checkBatchSize(int size) throws AnimalBatchTooLargeException {
+        if (size > AnimalConstants.MAX_BATCH_SIZE) {
+            throw new AnimalBatchTooLargeException(size, AnimalConstants.MAX_BATCH_SIZE);
+        }
+    }
+
+    private <T> String validate(T item) {
+        if (item == null) {
+            return "Item must not be null.";
+        }
+        Set<ConstraintViolation<T>> violations = validator.validate(item);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    private static BatchItemResultDto success(int index, HttpStatus status, AnimalDto animalDto) {
+        return BatchItemResultDto.builder()
+                .index(index)
+                .status(status.value())
+                .animal(animalDto)
+                .build();
+    }
+
+    private static BatchItemResultDto failure(int index, HttpStatus status, String error) {
+        return BatchItemResultDto.builder()
+                .index(index)
+                .status(status.value())
+                .error(error)
+                .build();
+    }
+}
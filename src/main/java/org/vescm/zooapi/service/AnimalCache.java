@@ -0,0 +1,76 @@
+package org.vescm.zooapi.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.vescm.zooapi.dto.AnimalDto;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+@Component
+public class AnimalCache {
+    private final boolean enabled;
+    private final Cache<Long, AnimalDto> animalsById;
+    private final Cache<String, AnimalDto> animalsBySpecie;
+
+    @Autowired
+    public AnimalCache(MeterRegistry meterRegistry,
+                       @Value("${zooapi.cache.enabled:true}") boolean enabled,
+                       @Value("${zooapi.cache.maximum-size:10000}") long maximumSize,
+                       @Value("${zooapi.cache.expire-after-write:60s}") Duration expireAfterWrite) {
+        Cache<Long, AnimalDto> animalsById = buildCache(maximumSize, expireAfterWrite);
+        Cache<String, AnimalDto> animalsBySpecie = buildCache(maximumSize, expireAfterWrite);
+        this.enabled = enabled;
+        this.animalsById = CaffeineCacheMetrics.monitor(meterRegistry, animalsById, "animals.by-id");
+        this.animalsBySpecie = CaffeineCacheMetrics.monitor(meterRegistry, animalsBySpecie, "animals.by-specie");
+    }
+
+    public AnimalDto getById(Long id, Function<Long, AnimalDto> loader) {
+        return enabled ? animalsById.get(id, loader) : loader.apply(id);
+    }
+
+    public AnimalDto getBySpecie(String specie, Function<String, AnimalDto> loader) {
+        return enabled ? animalsBySpecie.get(specie, loader) : loader.apply(specie);
+    }
+
+    public boolean containsSpecie(String specie) {
+        return enabled && animalsBySpecie.getIfPresent(specie) != null;
+    }
+
+    public void evict(AnimalDto animalDto) {
+        if (!enabled) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate(animalDto);
+                }
+            });
+        } else {
+            invalidate(animalDto);
+        }
+    }
+
+    private void invalidate(AnimalDto animalDto) {
+        animalsById.invalidate(animalDto.getId());
+        animalsBySpecie.invalidate(animalDto.getSpecie());
+    }
+
+    private static <K> Cache<K, AnimalDto> buildCache(long maximumSize, Duration expireAfterWrite) {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite.toNanos(), TimeUnit.NANOSECONDS)
+                .recordStats()
+                .build();
+    }
+}
@@ -0,0 +1,180 @@
+package org.vescm.zooapi.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.unit.DataSize;
+import org.vescm.zooapi.changelog.AnimalChangeLog;
+import org.vescm.zooapi.dto.AnimalChangeDto;
+import org.vescm.zooapi.dto.AnimalDto;
+import org.vescm.zooapi.enums.AnimalChangeType;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Slf4j
+@Component
+public class AnimalChanges {
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final Path directory;
+    private final DataSize segmentSize;
+    private final DataSize retentionSize;
+    private final Duration retentionAge;
+    private AnimalChangeLog changeLog;
+
+    @Autowired
+    public AnimalChanges(ObjectMapper objectMapper,
+                         @Value("${zooapi.changes.enabled:false}") boolean enabled,
+                         @Value("${zooapi.changes.path:data/changes}") String directory,
+                         @Value("${zooapi.changes.segment-size:64MB}") DataSize segmentSize,
+                         @Value("${zooapi.changes.retention.max-size:1GB}") DataSize retentionSize,
+                         @Value("${zooapi.changes.retention.max-age:7d}") Duration retentionAge) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.directory = Path.of(directory);
+        this.segmentSize = segmentSize;
+        this.retentionSize = retentionSize;
+        this.retentionAge = retentionAge;
+    }
+
+    @PostConstruct
+    public void open() throws IOException {
+        if (enabled) {
+            changeLog = AnimalChangeLog.open(directory, segmentSize.toBytes());
+            log.info("Opened animal change log at {} on sequence {}", directory, changeLog.getLastSequence());
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        if (changeLog != null) {
+            changeLog.close();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${zooapi.changes.retention.check-interval:60000}")
+    public void deleteExpiredSegments() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            int deleted = changeLog.deleteSegments(retentionSize.toBytes(), retentionAge.toMillis());
+            if (deleted > 0) {
+                log.info("Deleted {} animal change log segments past retention", deleted);
+            }
+        } catch (IOException e) {
+            log.warn("Could not delete animal change log segments past retention", e);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void created(AnimalDto animalDto) {
+        record(AnimalChangeType.CREATED, animalDto, animalDto.getQuantity());
+    }
+
+    public void deleted(AnimalDto animalDto) {
+        record(AnimalChangeType.DELETED, animalDto, -animalDto.getQuantity());
+    }
+
+    public void quantityChanged(AnimalDto animalDto, int delta) {
+        record(delta > 0 ? AnimalChangeType.INCREASED : AnimalChangeType.DECREASED, animalDto, delta);
+    }
+
+    public long lastSequence() {
+        return enabled ? changeLog.getLastSequence() : 0;
+    }
+
+    public List<AnimalChangeDto> read(long since, int max) throws IOException {
+        List<AnimalChangeDto> changes = new ArrayList<>();
+        if (enabled) {
+            changeLog.read(since, max, (sequence, payload) -> {
+                AnimalChangeDto change = objectMapper.readValue(payload, AnimalChangeDto.class);
+                change.setSequence(sequence);
+                changes.add(change);
+            });
+        }
+        return changes;
+    }
+
+    public boolean awaitAfter(long sequence, Duration timeout) throws InterruptedException {
+        return enabled && changeLog.awaitAfter(sequence, timeout.toMillis());
+    }
+
+    private void record(AnimalChangeType type, AnimalDto animalDto, int delta) {
+        if (!enabled) {
+            return;
+        }
+        AnimalChangeDto change = AnimalChangeDto.builder()
+                .type(type)
+                .timestamp(System.currentTimeMillis())
+                .animalId(animalDto.getId())
+                .specie(animalDto.getSpecie())
+                .kingdom(animalDto.getKingdom())
+                .phylum(animalDto.getPhylum())
+                .quantity(type == AnimalChangeType.DELETED ? 0 : animalDto.getQuantity())
+                .delta(delta)
+                .build();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                private long sequence;
+
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    sequence = append(change);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED && sequence != 0) {
+                        append(reverted(change, sequence));
+                    }
+                }
+            });
+        } else {
+            try {
+                append(change);
+            } catch (UncheckedIOException e) {
+                log.error("{} of animal {} is committed but missing from the change log",
+                        change.getType(), change.getAnimalId(), e);
+            }
+        }
+    }
+
+    private long append(AnimalChangeDto change) {
+        try {
+            return changeLog.append(objectMapper.writeValueAsBytes(change));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not append " + change.getType() + " of animal " +
+                    change.getAnimalId() + " to the change log", e);
+        }
+    }
+
+    private static AnimalChangeDto reverted(AnimalChangeDto change, long sequence) {
+        return AnimalChangeDto.builder()
+                .type(AnimalChangeType.REVERTED)
+                .timestamp(System.currentTimeMillis())
+                .animalId(change.getAnimalId())
+                .specie(change.getSpecie())
+                .kingdom(change.getKingdom())
+                .phylum(change.getPhylum())
+                .quantity(change.getQuantity() - change.getDelta())
+                .delta(-change.getDelta())
+                .reverts(sequence)
+                .build();
+    }
+}
@@ -0,0 +1,112 @@
+package org.vescm.zooapi.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.vescm.zooapi.enums.RequestBudget;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Component
+public class AnimalConcurrencyLimiter {
+    private final boolean enabled;
+    private final Map<RequestBudget, Limit> limits = new EnumMap<>(RequestBudget.class);
+
+    @Autowired
+    public AnimalConcurrencyLimiter(MeterRegistry meterRegistry,
+                                    @Value("${zooapi.admission.enabled:false}") boolean enabled,
+                                    @Value("${zooapi.admission.min-limit:4}") int minLimit,
+                                    @Value("${zooapi.admission.max-limit:512}") int maxLimit,
+                                    @Value("${zooapi.admission.backoff-ratio:0.9}") double backoffRatio,
+                                    @Value("${zooapi.admission.reads.initial-limit:64}") int readLimit,
+                                    @Value("${zooapi.admission.reads.latency-threshold:50ms}") Duration readThreshold,
+                                    @Value("${zooapi.admission.writes.initial-limit:16}") int writeLimit,
+                                    @Value("${zooapi.admission.writes.latency-threshold:200ms}") Duration writeThreshold) {
+        this.enabled = enabled;
+        int min = Math.max(1, minLimit);
+        int max = Math.max(min, maxLimit);
+        limits.put(RequestBudget.READ, new Limit(RequestBudget.READ, readLimit, min, max, backoffRatio,
+                readThreshold, meterRegistry));
+        limits.put(RequestBudget.WRITE, new Limit(RequestBudget.WRITE, writeLimit, min, max, backoffRatio,
+                writeThreshold, meterRegistry));
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean tryAcquire(RequestBudget budget) {
+        return !enabled || limits.get(budget).tryAcquire();
+    }
+
+    public void release(RequestBudget budget, long latencyNanos, boolean dropped) {
+        if (enabled) {
+            limits.get(budget).release(latencyNanos, dropped);
+        }
+    }
+
+    public int getLimit(RequestBudget budget) {
+        return limits.get(budget).limit.get();
+    }
+
+    private static final class Limit {
+        private final AtomicInteger limit;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final int minLimit;
+        private final int maxLimit;
+        private final double backoffRatio;
+        private final long thresholdNanos;
+        private final Counter rejected;
+
+        private Limit(RequestBudget budget, int initialLimit, int minLimit, int maxLimit, double backoffRatio,
+                      Duration threshold, MeterRegistry meterRegistry) {
+            this.limit = new AtomicInteger(Math.max(minLimit, Math.min(maxLimit, initialLimit)));
+            this.minLimit = minLimit;
+            this.maxLimit = maxLimit;
+            this.backoffRatio = backoffRatio;
+            this.thresholdNanos = threshold.toNanos();
+            String tag = budget.name().toLowerCase();
+            this.rejected = Counter.builder("zooapi.animals.admission.rejected")
+                    .description("Requests rejected with 429 before reaching the controller")
+                    .tag("budget", tag)
+                    .tag("reason", "concurrency")
+                    .register(meterRegistry);
+            Gauge.builder("zooapi.animals.admission.limit", limit, AtomicInteger::get)
+                    .description("Concurrent requests admitted before rejecting with 429")
+                    .tag("budget", tag)
+                    .register(meterRegistry);
+            Gauge.builder("zooapi.animals.admission.in-flight", inFlight, AtomicInteger::get)
+                    .description("Requests currently being served")
+                    .tag("budget", tag)
+                    .register(meterRegistry);
+        }
+
+        private boolean tryAcquire() {
+            while (true) {
+                int current = inFlight.get();
+                if (current >= limit.get()) {
+                    rejected.increment();
+                    return false;
+                }
+                if (inFlight.compareAndSet(current, current + 1)) {
+                    return true;
+                }
+            }
+        }
+
+        private void release(long latencyNanos, boolean dropped) {
+            int current = inFlight.getAndDecrement();
+            if (dropped || latencyNanos > thresholdNanos) {
+                limit.updateAndGet(value -> Math.max(minLimit, (int) (value * backoffRatio)));
+            } else if (current * 2 >= limit.get()) {
+                limit.updateAndGet(value -> Math.min(maxLimit, value + 1));
+            }
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package org.vescm.zooapi.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+@Component
+public class AnimalIdempotencyStore {
+    private final boolean enabled;
+    private final String clientHeader;
+    private final long waitTimeoutNanos;
+    private final Cache<String, Entry> entries;
+
+    @Autowired
+    public AnimalIdempotencyStore(MeterRegistry meterRegistry,
+                                  @Value("${zooapi.idempotency.enabled:false}") boolean enabled,
+                                  @Value("${zooapi.idempotency.client-header:X-API-Key}") String clientHeader,
+                                  @Value("${zooapi.idempotency.maximum-size:10000}") long maximumSize,
+                                  @Value("${zooapi.idempotency.ttl:10m}") Duration ttl,
+                                  @Value("${zooapi.idempotency.wait-timeout:30s}") Duration waitTimeout) {
+        this.enabled = enabled;
+        this.clientHeader = clientHeader;
+        this.waitTimeoutNanos = waitTimeout.toNanos();
+        this.entries = CaffeineCacheMetrics.monitor(meterRegistry, Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .<String, Entry>build(), "animals.idempotency");
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public String getClientHeader() {
+        return clientHeader;
+    }
+
+    public Entry register(String key, Entry entry) {
+        return entries.asMap().putIfAbsent(key, entry);
+    }
+
+    public void complete(String key, Entry entry, StoredResponse response) {
+        entry.response.complete(response);
+        if (response.status >= 500 || response.status == 409) {
+            entries.asMap().remove(key, entry);
+        }
+    }
+
+    public void fail(String key, Entry entry, Throwable error) {
+        entries.asMap().remove(key, entry);
+        entry.response.completeExceptionally(error);
+    }
+
+    public StoredResponse await(Entry entry) throws InterruptedException {
+        try {
+            return entry.response.get(waitTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (ExecutionException | TimeoutException e) {
+            return null;
+        }
+    }
+
+    public static final class Entry {
+        private final String fingerprint;
+        private final CompletableFuture<StoredResponse> response = new CompletableFuture<>();
+
+        public Entry(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+
+        public boolean matches(String fingerprint) {
+            return this.fingerprint.equals(fingerprint);
+        }
+    }
+
+    public static final class StoredResponse {
+        private final int status;
+        private final String contentType;
+        private final Map<String, List<String>> headers;
+        private final byte[] body;
+
+        public StoredResponse(int status, String contentType, Map<String, List<String>> headers, byte[] body) {
+            this.status = status;
+            this.contentType = contentType;
+            this.headers = headers;
+            this.body = body;
+        }
+
+        public int getStatus() {
+            return status;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public Map<String, List<String>> getHeaders() {
+            return headers;
+        }
+
+        public byte[] getBody() {
+            return body;
+        }
+    }
+}
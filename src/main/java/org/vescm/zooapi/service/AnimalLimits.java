@@ -0,0 +1,34 @@
+package org.vescm.zooapi.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.vescm.zooapi.constants.AnimalConstants;
+
+@Component
+public class AnimalLimits {
+    private final int min;
+    private final int max;
+
+    @Autowired
+    public AnimalLimits(@Value("${zooapi.animals.min:" + AnimalConstants.MIN + "}") int min,
+                        @Value("${zooapi.animals.max:" + AnimalConstants.MAX + "}") int max) {
+        if (min > max) {
+            throw new IllegalArgumentException("zooapi.animals.min (" + min + ") is above zooapi.animals.max (" + max + ")");
+        }
+        this.min = min;
+        this.max = max;
+    }
+
+    public int getMin() {
+        return min;
+    }
+
+    public int getMax() {
+        return max;
+    }
+
+    public boolean allows(int quantity) {
+        return quantity >= min && quantity <= max;
+    }
+}
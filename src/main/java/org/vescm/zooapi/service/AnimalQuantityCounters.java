@@ -0,0 +1,146 @@
+package org.vescm.zooapi.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.vescm.zooapi.dto.AnimalDto;
+import org.vescm.zooapi.exception.AnimalLimitExceededException;
+import org.vescm.zooapi.exception.AnimalNotFoundException;
+import org.vescm.zooapi.exception.AnimalNumberAlreadyZeroException;
+import org.vescm.zooapi.mapper.AnimalMapper;
+import org.vescm.zooapi.model.Animal;
+import org.vescm.zooapi.repository.AnimalRepository;
+
+import javax.annotation.PreDestroy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Slf4j
+@Component
+public class AnimalQuantityCounters {
+    private final AnimalRepository animalRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final AnimalLimits animalLimits;
+    private final boolean enabled;
+    private final AnimalMapper animalMapper = AnimalMapper.INSTANCE;
+    private final ConcurrentMap<Long, Counter> counters = new ConcurrentHashMap<>();
+
+    @Autowired
+    public AnimalQuantityCounters(AnimalRepository animalRepository,
+                                  PlatformTransactionManager transactionManager,
+                                  AnimalLimits animalLimits,
+                                  @Value("${zooapi.counters.enabled:false}") boolean enabled) {
+        this.animalRepository = animalRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.animalLimits = animalLimits;
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public AnimalDto increase(Long id, int quantity, AnimalLoader loader)
+            throws AnimalNotFoundException, AnimalLimitExceededException {
+        Counter counter = counterFor(id, loader);
+        if (!counter.add(quantity, animalLimits)) {
+            throw new AnimalLimitExceededException(counter.animal.getSpecie());
+        }
+        return counter.toDto();
+    }
+
+    public AnimalDto decrease(Long id, int quantity, AnimalLoader loader)
+            throws AnimalNotFoundException, AnimalNumberAlreadyZeroException {
+        Counter counter = counterFor(id, loader);
+        if (!counter.add(-quantity, animalLimits)) {
+            throw new AnimalNumberAlreadyZeroException();
+        }
+        return counter.toDto();
+    }
+
+    public AnimalDto merge(AnimalDto animalDto) {
+        Counter counter = counters.get(animalDto.getId());
+        return counter == null ? animalDto : counter.toDto();
+    }
+
+    public void remove(Long id) {
+        counters.remove(id);
+    }
+
+    @Scheduled(fixedDelayString = "${zooapi.counters.flush-interval:1000}")
+    public synchronized void flush() {
+        Map<Counter, Integer> drained = new HashMap<>();
+        counters.values().forEach(counter -> {
+            int delta = counter.pending.getAndSet(0);
+            if (delta != 0) {
+                drained.put(counter, delta);
+            }
+        });
+        if (drained.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> drained.forEach((counter, delta) ->
+                    animalRepository.addQuantity(counter.animal.getId(), delta)));
+        } catch (RuntimeException e) {
+            log.warn("Could not flush {} animal quantity counters, retrying on next flush", drained.size(), e);
+            drained.forEach((counter, delta) -> counter.pending.addAndGet(delta));
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private Counter counterFor(Long id, AnimalLoader loader) throws AnimalNotFoundException {
+        Counter counter = counters.get(id);
+        if (counter != null) {
+            return counter;
+        }
+        AnimalDto animal = animalMapper.toDto(loader.load(id));
+        return counters.computeIfAbsent(id, key -> new Counter(animal));
+    }
+
+    @FunctionalInterface
+    public interface AnimalLoader {
+        Animal load(Long id) throws AnimalNotFoundException;
+    }
+
+    private static final class Counter {
+        private final AnimalDto animal;
+        private final AtomicInteger quantity;
+        private final AtomicInteger pending = new AtomicInteger();
+
+        private Counter(AnimalDto animal) {
+            this.animal = animal;
+            this.quantity = new AtomicInteger(animal.getQuantity());
+        }
+
+        private boolean add(int delta, AnimalLimits limits) {
+            int current;
+            int next;
+            do {
+                current = quantity.get();
+                next = current + delta;
+                if (!limits.allows(next)) {
+                    return false;
+                }
+            } while (!quantity.compareAndSet(current, next));
+            pending.addAndGet(delta);
+            return true;
+        }
+
+        private AnimalDto toDto() {
+            return new AnimalDto(animal.getId(), animal.getSpecie(), animal.getKingdom(), animal.getPhylum(),
+                    quantity.get());
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package org.vescm.zooapi.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.vescm.zooapi.dto.AnimalDto;
+import org.vescm.zooapi.enums.QuantityStrategy;
+import org.vescm.zooapi.exception.AnimalLimitExceededException;
+import org.vescm.zooapi.exception.AnimalNotFoundException;
+import org.vescm.zooapi.exception.AnimalNumberAlreadyZeroException;
+import org.vescm.zooapi.mapper.AnimalMapper;
+import org.vescm.zooapi.model.Animal;
+import org.vescm.zooapi.repository.AnimalRepository;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class AnimalQuantityLocking {
+    private final AnimalRepository animalRepository;
+    private final AnimalCache animalCache;
+    private final TransactionTemplate transactionTemplate;
+    private final AnimalLimits animalLimits;
+    private final QuantityStrategy strategy;
+    private final boolean enabled;
+    private final int maxAttempts;
+    private final long backoffNanos;
+    private final long maxBackoffNanos;
+    private final Counter conflicts;
+    private final Counter retries;
+    private final Counter exhausted;
+    private final AnimalMapper animalMapper = AnimalMapper.INSTANCE;
+
+    @Autowired
+    public AnimalQuantityLocking(AnimalRepository animalRepository,
+                                 AnimalCache animalCache,
+                                 AnimalQuantityCounters animalQuantityCounters,
+                                 AnimalQuantityStripes animalQuantityStripes,
+                                 PlatformTransactionManager transactionManager,
+                                 AnimalLimits animalLimits,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${zooapi.quantity.strategy:atomic}") String strategy,
+                                 @Value("${zooapi.quantity.retry.max-attempts:5}") int maxAttempts,
+                                 @Value("${zooapi.quantity.retry.backoff:5ms}") Duration backoff,
+                                 @Value("${zooapi.quantity.retry.max-backoff:100ms}") Duration maxBackoff) {
+        this.animalRepository = animalRepository;
+        this.animalCache = animalCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.animalLimits = animalLimits;
+        this.strategy = QuantityStrategy.fromName(strategy);
+        this.enabled = this.strategy != QuantityStrategy.ATOMIC
+                && !animalQuantityCounters.isEnabled() && !animalQuantityStripes.isEnabled();
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.backoffNanos = Math.max(1, backoff.toNanos());
+        this.maxBackoffNanos = Math.max(this.backoffNanos, maxBackoff.toNanos());
+        String tag = this.strategy.name().toLowerCase();
+        this.conflicts = Counter.builder("zooapi.animals.quantity.conflicts")
+                .description("Quantity updates that lost a version check or timed out waiting for a row lock")
+                .tag("strategy", tag)
+                .register(meterRegistry);
+        this.retries = Counter.builder("zooapi.animals.quantity.retries")
+                .description("Quantity updates retried after a conflict")
+                .tag("strategy", tag)
+                .register(meterRegistry);
+        this.exhausted = Counter.builder("zooapi.animals.quantity.retries.exhausted")
+                .description("Quantity updates rejected after the last retry")
+                .tag("strategy", tag)
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public AnimalDto increase(Long id, int quantity) throws AnimalNotFoundException, AnimalLimitExceededException {
+        Attempt attempt = update(id, quantity);
+        if (attempt == null) {
+            throw AnimalNotFoundException.withId(id);
+        }
+        if (!attempt.applied) {
+            throw new AnimalLimitExceededException(attempt.animal.getSpecie());
+        }
+        return attempt.animal;
+    }
+
+    public AnimalDto decrease(Long id, int quantity) throws AnimalNotFoundException, AnimalNumberAlreadyZeroException {
+        Attempt attempt = update(id, -quantity);
+        if (attempt == null) {
+            throw AnimalNotFoundException.withId(id);
+        }
+        if (!attempt.applied) {
+            throw new AnimalNumberAlreadyZeroException();
+        }
+        return attempt.animal;
+    }
+
+    private Attempt update(Long id, int delta) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                Attempt result = transactionTemplate.execute(status -> apply(id, delta));
+                if (result != null && result.applied) {
+                    animalCache.evict(result.animal);
+                }
+                return result;
+            } catch (ConcurrencyFailureException e) {
+                conflicts.increment();
+                if (attempt >= maxAttempts) {
+                    exhausted.increment();
+                    throw e;
+                }
+                retries.increment();
+                backOff(attempt, e);
+            }
+        }
+    }
+
+    private Attempt apply(Long id, int delta) {
+        Optional<Animal> current = strategy == QuantityStrategy.PESSIMISTIC
+                ? animalRepository.findForUpdateById(id)
+                : animalRepository.findById(id);
+        if (current.isEmpty()) {
+            return null;
+        }
+        Animal animal = current.get();
+        int quantity = animal.getQuantity() + delta;
+        if (!animalLimits.allows(quantity)) {
+            return new Attempt(animalMapper.toDto(animal), false);
+        }
+        animal.setQuantity(quantity);
+        return new Attempt(animalMapper.toDto(animalRepository.saveAndFlush(animal)), true);
+    }
+
+    private void backOff(int attempt, ConcurrencyFailureException conflict) {
+        long ceiling = Math.min(maxBackoffNanos, backoffNanos << Math.min(attempt - 1, 20));
+        try {
+            TimeUnit.NANOSECONDS.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw conflict;
+        }
+    }
+
+    private static final class Attempt {
+        private final AnimalDto animal;
+        private final boolean applied;
+
+        private Attempt(AnimalDto animal, boolean applied) {
+            this.animal = animal;
+            this.applied = applied;
+        }
+    }
+}
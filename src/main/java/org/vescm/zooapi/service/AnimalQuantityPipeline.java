@@ -0,0 +1,311 @@
+package org.vescm.zooapi.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.vescm.zooapi.dto.AnimalDto;
+import org.vescm.zooapi.exception.AnimalException;
+import org.vescm.zooapi.exception.AnimalLimitExceededException;
+import org.vescm.zooapi.exception.AnimalNotFoundException;
+import org.vescm.zooapi.exception.AnimalNumberAlreadyZeroException;
+import org.vescm.zooapi.mapper.AnimalMapper;
+import org.vescm.zooapi.repository.AnimalRepository;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+public class AnimalQuantityPipeline {
+    private static final long IDLE_POLL_MILLIS = 100;
+
+    private final AnimalRepository animalRepository;
+    private final AnimalCache animalCache;
+    private final AnimalStatistics animalStatistics;
+    private final AnimalChanges animalChanges;
+    private final AnimalSnapshots animalSnapshots;
+    private final TransactionTemplate transactionTemplate;
+    private final AnimalLimits animalLimits;
+    private final DistributionSummary batchSizes;
+    private final boolean enabled;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final long timeoutNanos;
+    private final AnimalMapper animalMapper = AnimalMapper.INSTANCE;
+    private final BlockingQueue<Change> queue = new LinkedBlockingQueue<>();
+    private final ReadWriteLock submitLock = new ReentrantReadWriteLock();
+    private volatile boolean running;
+    private Thread flusher;
+
+    @Autowired
+    public AnimalQuantityPipeline(AnimalRepository animalRepository,
+                                  AnimalCache animalCache,
+                                  AnimalStatistics animalStatistics,
+                                  AnimalChanges animalChanges,
+                                  AnimalSnapshots animalSnapshots,
+                                  AnimalQuantityCounters animalQuantityCounters,
+                                  AnimalQuantityStripes animalQuantityStripes,
+                                  AnimalQuantityLocking animalQuantityLocking,
+                                  PlatformTransactionManager transactionManager,
+                                  AnimalLimits animalLimits,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${zooapi.group-commit.enabled:false}") boolean enabled,
+                                  @Value("${zooapi.group-commit.window:1ms}") Duration window,
+                                  @Value("${zooapi.group-commit.max-batch-size:256}") int maxBatchSize,
+                                  @Value("${zooapi.group-commit.timeout:10s}") Duration timeout) {
+        this.animalRepository = animalRepository;
+        this.animalCache = animalCache;
+        this.animalStatistics = animalStatistics;
+        this.animalChanges = animalChanges;
+        this.animalSnapshots = animalSnapshots;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.animalLimits = animalLimits;
+        this.batchSizes = DistributionSummary.builder("zooapi.animals.group-commit.batch.size")
+                .description("Quantity changes committed per transaction")
+                .register(meterRegistry);
+        this.enabled = enabled && !animalQuantityCounters.isEnabled() && !animalQuantityStripes.isEnabled()
+                && !animalQuantityLocking.isEnabled();
+        this.windowNanos = window.toNanos();
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.timeoutNanos = timeout.toNanos();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        flusher = new Thread(this::run, "animal-quantity-pipeline");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (flusher == null) {
+            return;
+        }
+        submitLock.writeLock().lock();
+        try {
+            running = false;
+        } finally {
+            submitLock.writeLock().unlock();
+        }
+        flusher.join();
+        List<Change> abandoned = new ArrayList<>();
+        queue.drainTo(abandoned);
+        abandoned.forEach(change -> change.result.completeExceptionally(
+                new IllegalStateException("Quantity pipeline is shut down")));
+    }
+
+    public AnimalDto increase(Long id, int quantity) throws AnimalNotFoundException, AnimalLimitExceededException {
+        try {
+            return await(submit(id, quantity));
+        } catch (AnimalNotFoundException | AnimalLimitExceededException e) {
+            throw e;
+        } catch (AnimalException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public AnimalDto decrease(Long id, int quantity) throws AnimalNotFoundException, AnimalNumberAlreadyZeroException {
+        try {
+            return await(submit(id, -quantity));
+        } catch (AnimalNotFoundException | AnimalNumberAlreadyZeroException e) {
+            throw e;
+        } catch (AnimalException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private CompletableFuture<AnimalDto> submit(Long id, int delta) {
+        animalSnapshots.awaitRestore();
+        Change change = new Change(id, delta);
+        submitLock.readLock().lock();
+        try {
+            if (!running) {
+                throw new IllegalStateException("Quantity pipeline is not running");
+            }
+            queue.add(change);
+        } finally {
+            submitLock.readLock().unlock();
+        }
+        return change.result;
+    }
+
+    private AnimalDto await(CompletableFuture<AnimalDto> result) throws AnimalException {
+        try {
+            return result.get(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Timed out waiting for the quantity commit", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the quantity commit", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof AnimalException) {
+                throw (AnimalException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    private void run() {
+        List<Change> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Change first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                collect(batch);
+                commit(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                batch.forEach(change -> change.result.completeExceptionally(e));
+                return;
+            } catch (RuntimeException e) {
+                log.error("Could not commit {} quantity changes", batch.size(), e);
+                batch.forEach(change -> change.result.completeExceptionally(e));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void collect(List<Change> batch) throws InterruptedException {
+        long deadline = System.nanoTime() + windowNanos;
+        while (batch.size() < maxBatchSize) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                queue.drainTo(batch, maxBatchSize - batch.size());
+                return;
+            }
+            Change next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void commit(List<Change> batch) {
+        int size = batch.size();
+        long[] ids = new long[size];
+        int[] deltas = new int[size];
+        for (int i = 0; i < size; i++) {
+            ids[i] = batch.get(i).id;
+            deltas[i] = batch.get(i).delta;
+        }
+        Outcome[] outcomes = transactionTemplate.execute(status -> {
+            int[] updated = animalRepository.addQuantities(ids, deltas, animalLimits.getMin(), animalLimits.getMax());
+            Map<Long, AnimalDto> animals = animalRepository.findAllById(batch.stream()
+                    .map(change -> change.id)
+                    .distinct()
+                    .collect(Collectors.toList()))
+                    .stream()
+                    .map(animalMapper::toDto)
+                    .collect(Collectors.toMap(AnimalDto::getId, Function.identity()));
+            animals.values().forEach(animalCache::evict);
+            return outcomes(ids, deltas, updated, animals);
+        });
+        batchSizes.record(size);
+        for (int i = 0; i < size; i++) {
+            Outcome outcome = outcomes[i];
+            if (outcome.error != null) {
+                batch.get(i).result.completeExceptionally(outcome.error);
+            } else {
+                batch.get(i).result.complete(outcome.animal);
+            }
+        }
+    }
+
+    private Outcome[] outcomes(long[] ids, int[] deltas, int[] updated, Map<Long, AnimalDto> animals) {
+        Outcome[] outcomes = new Outcome[ids.length];
+        Map<Long, Integer> quantities = new HashMap<>();
+        animals.forEach((id, animal) -> quantities.put(id, animal.getQuantity()));
+        for (int i = ids.length - 1; i >= 0; i--) {
+            AnimalDto animal = animals.get(ids[i]);
+            if (animal == null) {
+                outcomes[i] = Outcome.failure(AnimalNotFoundException.withId(ids[i]));
+            } else if (updated[i] == 0) {
+                outcomes[i] = Outcome.failure(deltas[i] > 0
+                        ? new AnimalLimitExceededException(animal.getSpecie())
+                        : new AnimalNumberAlreadyZeroException());
+            } else {
+                int quantity = quantities.get(ids[i]);
+                quantities.put(ids[i], quantity - deltas[i]);
+                outcomes[i] = Outcome.success(new AnimalDto(animal.getId(), animal.getSpecie(), animal.getKingdom(),
+                        animal.getPhylum(), quantity));
+            }
+        }
+        for (int i = 0; i < ids.length; i++) {
+            if (outcomes[i].animal != null) {
+                animalStatistics.quantityChanged(outcomes[i].animal, deltas[i]);
+                animalChanges.quantityChanged(outcomes[i].animal, deltas[i]);
+            }
+        }
+        return outcomes;
+    }
+
+    private static final class Change {
+        private final long id;
+        private final int delta;
+        private final CompletableFuture<AnimalDto> result = new CompletableFuture<>();
+
+        private Change(long id, int delta) {
+            this.id = id;
+            this.delta = delta;
+        }
+    }
+
+    private static final class Outcome {
+        private final AnimalDto animal;
+        private final AnimalException error;
+
+        private Outcome(AnimalDto animal, AnimalException error) {
+            this.animal = animal;
+            this.error = error;
+        }
+
+        private static Outcome success(AnimalDto animal) {
+            return new Outcome(animal, null);
+        }
+
+        private static Outcome failure(AnimalException error) {
+            return new Outcome(null, error);
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package org.vescm.zooapi.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.vescm.zooapi.dto.AnimalDto;
+import org.vescm.zooapi.exception.AnimalLimitExceededException;
+import org.vescm.zooapi.exception.AnimalNotFoundException;
+import org.vescm.zooapi.exception.AnimalNumberAlreadyZeroException;
+import org.vescm.zooapi.mapper.AnimalMapper;
+import org.vescm.zooapi.model.Animal;
+import org.vescm.zooapi.repository.AnimalQuantityStripeRepository;
+import org.vescm.zooapi.repository.AnimalRepository;
+import org.vescm.zooapi.service.AnimalQuantityCounters.AnimalLoader;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+public class AnimalQuantityStripes {
+    private final AnimalQuantityStripeRepository stripeRepository;
+    private final AnimalRepository animalRepository;
+    private final AnimalCache animalCache;
+    private final TransactionTemplate transactionTemplate;
+    private final AnimalLimits animalLimits;
+    private final int count;
+    private final boolean enabled;
+    private final AnimalMapper animalMapper = AnimalMapper.INSTANCE;
+
+    @Autowired
+    public AnimalQuantityStripes(AnimalQuantityStripeRepository stripeRepository,
+                                 AnimalRepository animalRepository,
+                                 AnimalCache animalCache,
+                                 AnimalQuantityCounters animalQuantityCounters,
+                                 PlatformTransactionManager transactionManager,
+                                 AnimalLimits animalLimits,
+                                 @Value("${zooapi.stripes.count:1}") int count) {
+        this.stripeRepository = stripeRepository;
+        this.animalRepository = animalRepository;
+        this.animalCache = animalCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.animalLimits = animalLimits;
+        this.count = Math.max(1, count);
+        this.enabled = this.count > 1 && !animalQuantityCounters.isEnabled();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public AnimalDto increase(Long id, int quantity, AnimalLoader loader)
+            throws AnimalNotFoundException, AnimalLimitExceededException {
+        Integer total = add(id, quantity);
+        if (total == null) {
+            throw new AnimalLimitExceededException(loader.load(id).getSpecie());
+        }
+        return withQuantity(loader.load(id), total);
+    }
+
+    public AnimalDto decrease(Long id, int quantity, AnimalLoader loader)
+            throws AnimalNotFoundException, AnimalNumberAlreadyZeroException {
+        Integer total = add(id, -quantity);
+        if (total == null) {
+            loader.load(id);
+            throw new AnimalNumberAlreadyZeroException();
+        }
+        return withQuantity(loader.load(id), total);
+    }
+
+    public AnimalDto findById(Long id) {
+        return stripeRepository.findById(id).orElse(null);
+    }
+
+    public AnimalDto findBySpecie(String specie) {
+        return stripeRepository.findBySpecie(specie).orElse(null);
+    }
+
+    public AnimalDto merge(AnimalDto animalDto) {
+        int delta = stripeRepository.pendingDelta(animalDto.getId());
+        return delta == 0 ? animalDto : withQuantity(animalDto, animalDto.getQuantity() + delta);
+    }
+
+    public List<AnimalDto> mergeAll(List<AnimalDto> animals) {
+        Map<Long, Integer> deltas = stripeRepository.pendingDeltas(animals.stream()
+                .map(AnimalDto::getId)
+                .collect(Collectors.toList()));
+        return animals.stream()
+                .map(animal -> {
+                    int delta = deltas.getOrDefault(animal.getId(), 0);
+                    return delta == 0 ? animal : withQuantity(animal, animal.getQuantity() + delta);
+                })
+                .collect(Collectors.toList());
+    }
+
+    @Scheduled(fixedDelayString = "${zooapi.stripes.fold-interval:1000}")
+    public synchronized void fold() {
+        if (!enabled) {
+            return;
+        }
+        for (Long id : stripeRepository.findAnimalIdsWithPendingDelta()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    Integer quantity = stripeRepository.lockQuantity(id);
+                    if (quantity != null) {
+                        reset(id, quantity + stripeRepository.lockPendingDelta(id));
+                    }
+                });
+            } catch (RuntimeException e) {
+                log.warn("Could not fold quantity stripes of animal {}, retrying on next fold", id, e);
+            }
+        }
+    }
+
+    private Integer add(long id, int delta) {
+        Integer total = transactionTemplate.execute(status -> addToStripe(id, delta));
+        return total != null ? total : transactionTemplate.execute(status -> rebalance(id, delta));
+    }
+
+    private Integer addToStripe(long id, int delta) {
+        int stripe = ThreadLocalRandom.current().nextInt(count);
+        return stripeRepository.add(id, stripe, delta) == 1 ? stripeRepository.quantity(id) : null;
+    }
+
+    private Integer rebalance(long id, int delta) {
+        Integer quantity = stripeRepository.lockQuantity(id);
+        if (quantity == null) {
+            return null;
+        }
+        int next = quantity + stripeRepository.lockPendingDelta(id) + delta;
+        if (!animalLimits.allows(next)) {
+            return null;
+        }
+        reset(id, next);
+        return next;
+    }
+
+    private void reset(long id, int quantity) {
+        stripeRepository.reset(id, quantity, split(animalLimits.getMax() - quantity),
+                split(quantity - animalLimits.getMin()));
+        animalRepository.findById(id).map(animalMapper::toDto).ifPresent(animalCache::evict);
+    }
+
+    private int[] split(int total) {
+        int[] shares = new int[count];
+        for (int i = 0; i < count; i++) {
+            shares[i] = total / count + (i < total % count ? 1 : 0);
+        }
+        return shares;
+    }
+
+    private AnimalDto withQuantity(Animal animal, int quantity) {
+        return withQuantity(animalMapper.toDto(animal), quantity);
+    }
+
+    private static AnimalDto withQuantity(AnimalDto animal, int quantity) {
+        return new AnimalDto(animal.getId(), animal.getSpecie(), animal.getKingdom(), animal.getPhylum(), quantity);
+    }
+}
@@ -0,0 +1,88 @@
+package org.vescm.zooapi.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.vescm.zooapi.enums.RequestBudget;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class AnimalRateLimiter {
+    private final boolean enabled;
+    private final String clientHeader;
+    private final Map<RequestBudget, Rate> rates = new EnumMap<>(RequestBudget.class);
+
+    @Autowired
+    public AnimalRateLimiter(MeterRegistry meterRegistry,
+                             @Value("${zooapi.rate-limit.enabled:false}") boolean enabled,
+                             @Value("${zooapi.rate-limit.client-header:X-API-Key}") String clientHeader,
+                             @Value("${zooapi.rate-limit.max-clients:100000}") long maxClients,
+                             @Value("${zooapi.rate-limit.reads.rate:500}") double readRate,
+                             @Value("${zooapi.rate-limit.reads.burst:100}") int readBurst,
+                             @Value("${zooapi.rate-limit.writes.rate:100}") double writeRate,
+                             @Value("${zooapi.rate-limit.writes.burst:20}") int writeBurst) {
+        this.enabled = enabled;
+        this.clientHeader = clientHeader;
+        rates.put(RequestBudget.READ, new Rate(RequestBudget.READ, readRate, readBurst, maxClients, meterRegistry));
+        rates.put(RequestBudget.WRITE, new Rate(RequestBudget.WRITE, writeRate, writeBurst, maxClients, meterRegistry));
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public String getClientHeader() {
+        return clientHeader;
+    }
+
+    public long tryAcquire(RequestBudget budget, String client) {
+        return enabled ? rates.get(budget).tryAcquire(client) : 0;
+    }
+
+    private static final class Rate {
+        private final long intervalNanos;
+        private final long toleranceNanos;
+        private final Cache<String, AtomicLong> arrivals;
+        private final Counter rejected;
+
+        private Rate(RequestBudget budget, double rate, int burst, long maxClients, MeterRegistry meterRegistry) {
+            this.intervalNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / rate));
+            this.toleranceNanos = intervalNanos * Math.max(1, burst);
+            this.arrivals = Caffeine.newBuilder()
+                    .maximumSize(maxClients)
+                    .expireAfterAccess(Duration.ofNanos(Math.max(toleranceNanos, TimeUnit.SECONDS.toNanos(1))))
+                    .build();
+            this.rejected = Counter.builder("zooapi.animals.admission.rejected")
+                    .description("Requests rejected with 429 before reaching the controller")
+                    .tag("budget", budget.name().toLowerCase())
+                    .tag("reason", "rate")
+                    .register(meterRegistry);
+        }
+
+        private long tryAcquire(String client) {
+            long now = System.nanoTime();
+            AtomicLong arrival = arrivals.get(client, key -> new AtomicLong(now));
+            while (true) {
+                long theoretical = arrival.get();
+                long next = Math.max(theoretical, now) + intervalNanos;
+                long wait = next - now - toleranceNanos;
+                if (wait > 0) {
+                    rejected.increment();
+                    return wait;
+                }
+                if (arrival.compareAndSet(theoretical, next)) {
+                    return 0;
+                }
+            }
+        }
+    }
+}
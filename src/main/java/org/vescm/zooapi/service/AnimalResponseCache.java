@@ -0,0 +1,97 @@
+package org.vescm.zooapi.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32C;
+
+@Component
+public class AnimalResponseCache {
+    private final AnimalStatistics animalStatistics;
+    private final boolean enabled;
+    private final Cache<String, CachedResponse> responses;
+
+    @Autowired
+    public AnimalResponseCache(AnimalStatistics animalStatistics,
+                               MeterRegistry meterRegistry,
+                               @Value("${zooapi.response-cache.enabled:false}") boolean enabled,
+                               @Value("${zooapi.response-cache.maximum-size:64MB}") DataSize maximumSize) {
+        this.animalStatistics = animalStatistics;
+        this.enabled = enabled;
+        this.responses = CaffeineCacheMetrics.monitor(meterRegistry, Caffeine.newBuilder()
+                .maximumWeight(maximumSize.toBytes())
+                .<String, CachedResponse>weigher((key, response) -> key.length() + response.body.capacity())
+                .recordStats()
+                .build(), "animals.responses");
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public long version() {
+        return animalStatistics.version();
+    }
+
+    public CachedResponse get(String key) {
+        CachedResponse response = responses.getIfPresent(key);
+        if (response == null) {
+            return null;
+        }
+        if (response.version != version()) {
+            responses.asMap().remove(key, response);
+            return null;
+        }
+        return response;
+    }
+
+    public CachedResponse put(String key, long version, byte[] body, String link) {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(body.length);
+        buffer.put(body).flip();
+        CRC32C checksum = new CRC32C();
+        checksum.update(body);
+        CachedResponse response = new CachedResponse(version, buffer.asReadOnlyBuffer(),
+                "\"" + Long.toHexString(checksum.getValue()) + "-" + Integer.toHexString(body.length) + "\"", link);
+        if (version == version()) {
+            responses.put(key, response);
+        }
+        return response;
+    }
+
+    public static final class CachedResponse {
+        private final long version;
+        private final ByteBuffer body;
+        private final String etag;
+        private final String link;
+
+        private CachedResponse(long version, ByteBuffer body, String etag, String link) {
+            this.version = version;
+            this.body = body;
+            this.etag = etag;
+            this.link = link;
+        }
+
+        public ByteBuffer getBody() {
+            return body.duplicate();
+        }
+
+        public int getLength() {
+            return body.capacity();
+        }
+
+        public String getEtag() {
+            return etag;
+        }
+
+        public String getLink() {
+            return link;
+        }
+    }
+}
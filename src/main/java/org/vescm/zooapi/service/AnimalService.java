@@ -2,9 +2,15 @@ package org.vescm.zooapi.service;
 
 import lombok.AllArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.vescm.zooapi.constants.AnimalConstants;
 import org.vescm.zooapi.dto.AnimalDto;
+import org.vescm.zooapi.dto.AnimalSearchCriteria;
+import org.vescm.zooapi.dto.AnimalStatsDto;
 import org.vescm.zooapi.exception.AnimalAlreadyExistsException;
 import org.vescm.zooapi.exception.AnimalLimitExceededException;
 import org.vescm.zooapi.exception.AnimalNumberAlreadyZeroException;
@@ -15,77 +21,221 @@ import org.vescm.zooapi.repository.AnimalRepository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @AllArgsConstructor(onConstructor = @__(@Autowired))
 public class AnimalService {
     private final AnimalRepository animalRepository;
+    private final AnimalQuantityCounters animalQuantityCounters;
+    private final AnimalQuantityStripes animalQuantityStripes;
+    private final AnimalQuantityLocking animalQuantityLocking;
+    private final AnimalQuantityPipeline animalQuantityPipeline;
+    private final AnimalLimits animalLimits;
+    private final AnimalCache animalCache;
+    private final AnimalStatistics animalStatistics;
+    private final AnimalChanges animalChanges;
+    private final AnimalSnapshots animalSnapshots;
+    private final TransactionTemplate transactionTemplate;
     private final AnimalMapper animalMapper = AnimalMapper.INSTANCE;
 
     public Animal animalExistsById(Long id) throws AnimalNotFoundException{
         Optional<Animal> animal = this.animalRepository.findById(id);
         if (animal.isEmpty()) {
-            throw new AnimalNotFoundException(" with id: " + id);
+            throw AnimalNotFoundException.withId(id);
         }
         return animal.get();
     }
 
     public AnimalDto getById(Long id) throws AnimalNotFoundException {
-        return animalMapper.toDto(animalExistsById(id));
-    }
-
-    private boolean canCreateAnimal(String specie) {
-        return animalRepository.findBySpecie(specie).isEmpty();
+        AnimalDto snapshotAnimal = animalSnapshots.findById(id);
+        if (snapshotAnimal != null) {
+            return withPendingQuantity(snapshotAnimal);
+        }
+        AnimalDto animalDto = animalQuantityStripes.isEnabled()
+                ? animalQuantityStripes.findById(id)
+                : animalCache.getById(id, key -> animalRepository.findById(key).map(animalMapper::toDto).orElse(null));
+        if (animalDto == null) {
+            throw AnimalNotFoundException.withId(id);
+        }
+        return animalQuantityCounters.isEnabled() ? animalQuantityCounters.merge(animalDto) : animalDto;
     }
 
     public AnimalDto createAnimal(AnimalDto animalDto) throws AnimalAlreadyExistsException {
-        if (canCreateAnimal(animalDto.getSpecie())) {
-            return animalMapper.toDto(animalRepository.save(animalMapper.toModel(animalDto)));
+        animalSnapshots.awaitRestore();
+        if (animalCache.containsSpecie(animalDto.getSpecie())) {
+            throw new AnimalAlreadyExistsException(animalDto.getSpecie());
+        }
+        Animal animal = animalMapper.toModel(animalDto);
+        animal.setId(null);
+        try {
+            return transactionTemplate.execute(status -> {
+                AnimalDto createdAnimal = animalMapper.toDto(animalRepository.saveAndFlush(animal));
+                animalStatistics.created(createdAnimal);
+                animalChanges.created(createdAnimal);
+                return createdAnimal;
+            });
+        } catch (DataIntegrityViolationException e) {
+            if (animalRepository.findBySpecie(animalDto.getSpecie()).isPresent()) {
+                throw new AnimalAlreadyExistsException(animalDto.getSpecie());
+            }
+            throw e;
+        }
+    }
 
+    public AnimalDto getBySpecie(String specie) throws AnimalNotFoundException {
+        AnimalDto snapshotAnimal = animalSnapshots.findBySpecie(specie);
+        if (snapshotAnimal != null) {
+            return withPendingQuantity(snapshotAnimal);
         }
-        throw new AnimalAlreadyExistsException(animalDto.getSpecie());
+        AnimalDto animalDto = animalQuantityStripes.isEnabled()
+                ? animalQuantityStripes.findBySpecie(specie)
+                : animalCache.getBySpecie(specie, key ->
+                        animalRepository.findBySpecie(key).map(animalMapper::toDto).orElse(null));
+        if (animalDto == null) {
+            throw AnimalNotFoundException.ofSpecie(specie);
+        }
+        return animalQuantityCounters.isEnabled() ? animalQuantityCounters.merge(animalDto) : animalDto;
     }
 
-    private Animal animalExistsBySpecie(String specie) throws AnimalNotFoundException {
-        Optional<Animal> animal = this.animalRepository.findBySpecie(specie);
-        if (animal.isEmpty()) {
-            throw new AnimalNotFoundException(" of specie: " + specie);
+    public void deleteById(Long id) throws AnimalNotFoundException {
+        animalSnapshots.awaitRestore();
+        AnimalDto animalDto = withPendingQuantity(animalMapper.toDto(animalExistsById(id)));
+        transactionTemplate.executeWithoutResult(status -> {
+            animalRepository.deleteById(id);
+            animalStatistics.deleted(animalDto);
+            animalChanges.deleted(animalDto);
+        });
+        animalCache.evict(animalDto);
+        if (animalQuantityCounters.isEnabled()) {
+            animalQuantityCounters.remove(id);
         }
-        return animal.get();
     }
 
-    public AnimalDto getBySpecie(String specie) throws AnimalNotFoundException {
-        return animalMapper.toDto(animalExistsBySpecie(specie));
+    public AnimalStatsDto getStatistics() {
+        animalSnapshots.awaitRestore();
+        return animalStatistics.snapshot();
     }
 
-    public void deleteById(Long id) throws AnimalNotFoundException {
-        Animal animal = animalExistsById(id);
-        animalRepository.deleteById(id);
+    public List<AnimalDto> listAll(Long afterId, int size) {
+        animalSnapshots.awaitRestore();
+        List<AnimalDto> animals = animalMapper.toListDto(animalRepository.findByIdGreaterThanOrderByIdAsc(
+                afterId == null ? 0L : afterId, PageRequest.of(0, pageSize(size))));
+        return withPendingQuantities(animals);
+    }
+
+    public List<AnimalDto> search(AnimalSearchCriteria criteria, Long afterId, int size) {
+        animalSnapshots.awaitRestore();
+        List<AnimalDto> animals = animalRepository.search(criteria, afterId == null ? 0L : afterId, pageSize(size));
+        return withPendingQuantities(animals);
     }
 
-    public List<AnimalDto> listAll() {
-        return animalMapper.toListDto(animalRepository.findAll());
+    @Transactional(readOnly = true)
+    public void streamAll(Consumer<AnimalDto> consumer) {
+        animalSnapshots.awaitRestore();
+        try (Stream<AnimalDto> animals = animalRepository.streamAll()) {
+            animals.map(this::withPendingQuantity).forEach(consumer);
+        }
     }
 
     public AnimalDto increaseAnimalNumber(Long id, int quantity)
             throws AnimalNotFoundException, AnimalLimitExceededException {
-        Animal animal = animalExistsById(id);
-        int postIncrementQuantity = quantity + animal.getQuantity();
-        if (postIncrementQuantity > AnimalConstants.MAX) {
-            throw new AnimalLimitExceededException(animal.getSpecie());
+        animalSnapshots.awaitRestore();
+        if (!animalQuantityCounters.isEnabled() && !animalQuantityStripes.isEnabled()
+                && !animalQuantityLocking.isEnabled()) {
+            if (animalQuantityPipeline.isEnabled()) {
+                return animalQuantityPipeline.increase(id, quantity);
+            }
+            AnimalDto animalDto = transactionTemplate.execute(status -> updatedAnimal(id,
+                    animalRepository.increaseQuantity(id, quantity, animalLimits.getMax()), quantity));
+            if (animalDto == null) {
+                throw new AnimalLimitExceededException(animalExistsById(id).getSpecie());
+            }
+            animalCache.evict(animalDto);
+            return animalDto;
+        }
+        animalStatistics.beginChange();
+        try {
+            AnimalDto animalDto;
+            if (animalQuantityCounters.isEnabled()) {
+                animalDto = animalQuantityCounters.increase(id, quantity, this::animalExistsById);
+            } else if (animalQuantityStripes.isEnabled()) {
+                animalDto = animalQuantityStripes.increase(id, quantity, this::animalExistsById);
+            } else {
+                animalDto = animalQuantityLocking.increase(id, quantity);
+            }
+            quantityChanged(animalDto, quantity);
+            return animalDto;
+        } finally {
+            animalStatistics.endChange();
         }
-        animal.setQuantity(postIncrementQuantity);
-        return animalMapper.toDto(animalRepository.save(animal));
     }
 
     public AnimalDto decreaseAnimalNumber(Long id, int quantity)
             throws AnimalNotFoundException, AnimalNumberAlreadyZeroException {
-        Animal animal = animalExistsById(id);
-        int postDecrementQuantity = animal.getQuantity() - quantity;
-        if (postDecrementQuantity < AnimalConstants.MIN) {
-            throw new AnimalNumberAlreadyZeroException();
+        animalSnapshots.awaitRestore();
+        if (!animalQuantityCounters.isEnabled() && !animalQuantityStripes.isEnabled()
+                && !animalQuantityLocking.isEnabled()) {
+            if (animalQuantityPipeline.isEnabled()) {
+                return animalQuantityPipeline.decrease(id, quantity);
+            }
+            AnimalDto animalDto = transactionTemplate.execute(status -> updatedAnimal(id,
+                    animalRepository.decreaseQuantity(id, quantity, animalLimits.getMin()), -quantity));
+            if (animalDto == null) {
+                animalExistsById(id);
+                throw new AnimalNumberAlreadyZeroException();
+            }
+            animalCache.evict(animalDto);
+            return animalDto;
+        }
+        animalStatistics.beginChange();
+        try {
+            AnimalDto animalDto;
+            if (animalQuantityCounters.isEnabled()) {
+                animalDto = animalQuantityCounters.decrease(id, quantity, this::animalExistsById);
+            } else if (animalQuantityStripes.isEnabled()) {
+                animalDto = animalQuantityStripes.decrease(id, quantity, this::animalExistsById);
+            } else {
+                animalDto = animalQuantityLocking.decrease(id, quantity);
+            }
+            quantityChanged(animalDto, -quantity);
+            return animalDto;
+        } finally {
+            animalStatistics.endChange();
+        }
+    }
+
+    private AnimalDto updatedAnimal(Long id, int updated, int delta) {
+        if (updated == 0) {
+            return null;
+        }
+        AnimalDto animalDto = animalMapper.toDto(animalRepository.findById(id).orElseThrow());
+        quantityChanged(animalDto, delta);
+        return animalDto;
+    }
+
+    private void quantityChanged(AnimalDto animalDto, int delta) {
+        animalStatistics.quantityChanged(animalDto, delta);
+        animalChanges.quantityChanged(animalDto, delta);
+    }
+
+    public static int pageSize(int size) {
+        return Math.max(1, Math.min(size, AnimalConstants.MAX_PAGE_SIZE));
+    }
+
+    private AnimalDto withPendingQuantity(AnimalDto animalDto) {
+        if (animalQuantityCounters.isEnabled()) {
+            return animalQuantityCounters.merge(animalDto);
+        }
+        return animalQuantityStripes.isEnabled() ? animalQuantityStripes.merge(animalDto) : animalDto;
+    }
+
+    private List<AnimalDto> withPendingQuantities(List<AnimalDto> animals) {
+        if (animalQuantityCounters.isEnabled()) {
+            animals.replaceAll(animalQuantityCounters::merge);
+            return animals;
         }
-        animal.setQuantity(postDecrementQuantity);
-        return animalMapper.toDto(animalRepository.save(animal));
+        return animalQuantityStripes.isEnabled() ? animalQuantityStripes.mergeAll(animals) : animals;
     }
 }
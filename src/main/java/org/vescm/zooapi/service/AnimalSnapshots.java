@@ -0,0 +1,186 @@
+package org.vescm.zooapi.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.vescm.zooapi.dto.AnimalDto;
+import org.vescm.zooapi.repository.AnimalRepository;
+import org.vescm.zooapi.snapshot.AnimalSnapshot;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+@Slf4j
+@Component
+public class AnimalSnapshots {
+    private static final int RESTORE_BATCH_SIZE = 1000;
+    private static final int SEQUENCE_INCREMENT = 50;
+    private static final String INSERT_SQL = "insert into animal (id, specie, kingdom, phylum, quantity) " +
+            "values (?, ?, ?, ?, ?)";
+
+    private final AnimalRepository animalRepository;
+    private final AnimalQuantityCounters animalQuantityCounters;
+    private final AnimalQuantityStripes animalQuantityStripes;
+    private final AnimalStatistics animalStatistics;
+    private final DataSource dataSource;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final Path file;
+    private final CompletableFuture<Void> restored = new CompletableFuture<>();
+    private volatile AnimalSnapshot warmSnapshot;
+    private volatile boolean restoreFailed;
+
+    @Autowired
+    public AnimalSnapshots(AnimalRepository animalRepository,
+                           AnimalQuantityCounters animalQuantityCounters,
+                           AnimalQuantityStripes animalQuantityStripes,
+                           AnimalStatistics animalStatistics,
+                           DataSource dataSource,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${zooapi.snapshot.enabled:false}") boolean enabled,
+                           @Value("${zooapi.snapshot.path:data/animals.snapshot}") String file) {
+        this.animalRepository = animalRepository;
+        this.animalQuantityCounters = animalQuantityCounters;
+        this.animalQuantityStripes = animalQuantityStripes;
+        this.animalStatistics = animalStatistics;
+        this.dataSource = dataSource;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.enabled = enabled;
+        this.file = Path.of(file);
+    }
+
+    @PostConstruct
+    public void warmUp() {
+        if (!enabled || !Files.exists(file) || animalRepository.count() > 0) {
+            restored.complete(null);
+            return;
+        }
+        try {
+            warmSnapshot = AnimalSnapshot.open(file);
+            Connection connection = dataSource.getConnection();
+            Thread restore = new Thread(() -> restore(warmSnapshot, connection), "animal-snapshot-restore");
+            restore.setDaemon(true);
+            restore.start();
+            log.info("Serving {} animals from snapshot {} while the database is restored", warmSnapshot.size(), file);
+        } catch (IOException | SQLException | RuntimeException e) {
+            log.warn("Could not open animal snapshot {}, starting without it", file, e);
+            warmSnapshot = null;
+            restored.complete(null);
+        }
+    }
+
+    public boolean isWarmingUp() {
+        return warmSnapshot != null;
+    }
+
+    public AnimalDto findById(Long id) {
+        AnimalSnapshot snapshot = warmSnapshot;
+        return snapshot == null ? null : snapshot.findById(id);
+    }
+
+    public AnimalDto findBySpecie(String specie) {
+        AnimalSnapshot snapshot = warmSnapshot;
+        return snapshot == null ? null : snapshot.findBySpecie(specie);
+    }
+
+    public boolean isRestoreFailed() {
+        return restoreFailed;
+    }
+
+    public void awaitRestore() {
+        restored.join();
+    }
+
+    @Scheduled(fixedDelayString = "${zooapi.snapshot.interval:300000}",
+            initialDelayString = "${zooapi.snapshot.interval:300000}")
+    public void write() {
+        if (!enabled || isWarmingUp()) {
+            return;
+        }
+        if (restoreFailed) {
+            log.error("Not writing animal snapshot {} because it could not be restored; " +
+                    "move it aside and restart to resume snapshots", file);
+            return;
+        }
+        if (animalQuantityCounters.isEnabled()) {
+            animalQuantityCounters.flush();
+        }
+        animalQuantityStripes.fold();
+        List<AnimalDto> animals = new ArrayList<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<AnimalDto> stream = animalRepository.streamAll()) {
+                stream.forEach(animals::add);
+            }
+        });
+        try {
+            AnimalSnapshot.write(file, animals);
+            log.info("Wrote snapshot of {} animals to {}", animals.size(), file);
+        } catch (IOException e) {
+            log.warn("Could not write animal snapshot {}", file, e);
+        }
+    }
+
+    @PreDestroy
+    public void writeOnShutdown() {
+        write();
+    }
+
+    private void restore(AnimalSnapshot snapshot, Connection connection) {
+        long startTime = System.nanoTime();
+        try (connection) {
+            connection.setAutoCommit(false);
+            long[] maxId = {0};
+            try (PreparedStatement insert = connection.prepareStatement(INSERT_SQL)) {
+                int[] pending = {0};
+                snapshot.forEach(animal -> {
+                    try {
+                        insert.setLong(1, animal.getId());
+                        insert.setString(2, animal.getSpecie());
+                        insert.setShort(3, animal.getKingdom().getCode());
+                        insert.setShort(4, animal.getPhylum().getCode());
+                        insert.setInt(5, animal.getQuantity());
+                        insert.addBatch();
+                        maxId[0] = Math.max(maxId[0], animal.getId());
+                        if (++pending[0] == RESTORE_BATCH_SIZE) {
+                            insert.executeBatch();
+                            pending[0] = 0;
+                        }
+                    } catch (SQLException e) {
+                        throw new IllegalStateException(e);
+                    }
+                });
+                insert.executeBatch();
+            }
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("alter sequence animal_seq restart with " + (maxId[0] + SEQUENCE_INCREMENT));
+            }
+            connection.commit();
+            animalStatistics.load();
+            log.info("Restored {} animals from snapshot in {} ms",
+                    snapshot.size(), (System.nanoTime() - startTime) / 1_000_000);
+        } catch (SQLException | RuntimeException e) {
+            restoreFailed = true;
+            log.error("Could not restore animal snapshot {}, it will not be overwritten", file, e);
+        } finally {
+            warmSnapshot = null;
+            restored.complete(null);
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package org.vescm.zooapi.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.vescm.zooapi.dto.AnimalDto;
+import org.vescm.zooapi.dto.AnimalStatsDto;
+import org.vescm.zooapi.enums.Kingdom;
+import org.vescm.zooapi.enums.Phylum;
+import org.vescm.zooapi.repository.AnimalQuantityTotal;
+import org.vescm.zooapi.repository.AnimalRepository;
+
+import javax.annotation.PostConstruct;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+@Slf4j
+@Component
+public class AnimalStatistics {
+    private final AnimalRepository animalRepository;
+    private final AnimalQuantityCounters animalQuantityCounters;
+    private final AnimalQuantityStripes animalQuantityStripes;
+    private final Counter drift;
+    private final Map<Kingdom, Map<Phylum, Totals>> totals = new EnumMap<>(Kingdom.class);
+    private final AtomicLong mutations = new AtomicLong();
+    private final AtomicInteger pending = new AtomicInteger();
+
+    @Autowired
+    public AnimalStatistics(AnimalRepository animalRepository,
+                            AnimalQuantityCounters animalQuantityCounters,
+                            AnimalQuantityStripes animalQuantityStripes,
+                            MeterRegistry meterRegistry) {
+        this.animalRepository = animalRepository;
+        this.animalQuantityCounters = animalQuantityCounters;
+        this.animalQuantityStripes = animalQuantityStripes;
+        this.drift = Counter.builder("zooapi.animals.stats.drift")
+                .description("Statistics cells corrected by reconciliation")
+                .register(meterRegistry);
+        for (Kingdom kingdom : Kingdom.values()) {
+            Map<Phylum, Totals> byPhylum = new EnumMap<>(Phylum.class);
+            for (Phylum phylum : Phylum.values()) {
+                byPhylum.put(phylum, new Totals());
+            }
+            totals.put(kingdom, byPhylum);
+        }
+    }
+
+    @PostConstruct
+    public void load() {
+        synchronize(false);
+        mutations.incrementAndGet();
+    }
+
+    public void created(AnimalDto animalDto) {
+        record(animalDto.getKingdom(), animalDto.getPhylum(), 1, animalDto.getQuantity());
+    }
+
+    public void deleted(AnimalDto animalDto) {
+        record(animalDto.getKingdom(), animalDto.getPhylum(), -1, -animalDto.getQuantity());
+    }
+
+    public void quantityChanged(AnimalDto animalDto, int delta) {
+        record(animalDto.getKingdom(), animalDto.getPhylum(), 0, delta);
+    }
+
+    public void beginChange() {
+        pending.incrementAndGet();
+        mutations.incrementAndGet();
+    }
+
+    public void endChange() {
+        pending.decrementAndGet();
+    }
+
+    public long version() {
+        return mutations.get();
+    }
+
+    public long quantity(Kingdom kingdom, Phylum phylum) {
+        return totals.get(kingdom).get(phylum).quantity.sum();
+    }
+
+    public AnimalStatsDto snapshot() {
+        Map<Kingdom, Long> speciesByKingdom = new EnumMap<>(Kingdom.class);
+        Map<Kingdom, Long> quantityByKingdom = new EnumMap<>(Kingdom.class);
+        Map<Phylum, Long> speciesByPhylum = new EnumMap<>(Phylum.class);
+        Map<Phylum, Long> quantityByPhylum = new EnumMap<>(Phylum.class);
+        long species = 0;
+        long quantity = 0;
+        for (Map.Entry<Kingdom, Map<Phylum, Totals>> byKingdom : totals.entrySet()) {
+            for (Map.Entry<Phylum, Totals> cell : byKingdom.getValue().entrySet()) {
+                long cellSpecies = cell.getValue().species.sum();
+                long cellQuantity = cell.getValue().quantity.sum();
+                speciesByKingdom.merge(byKingdom.getKey(), cellSpecies, Long::sum);
+                quantityByKingdom.merge(byKingdom.getKey(), cellQuantity, Long::sum);
+                speciesByPhylum.merge(cell.getKey(), cellSpecies, Long::sum);
+                quantityByPhylum.merge(cell.getKey(), cellQuantity, Long::sum);
+                species += cellSpecies;
+                quantity += cellQuantity;
+            }
+        }
+        return AnimalStatsDto.builder()
+                .species(species)
+                .quantity(quantity)
+                .speciesByKingdom(speciesByKingdom)
+                .quantityByKingdom(quantityByKingdom)
+                .speciesByPhylum(speciesByPhylum)
+                .quantityByPhylum(quantityByPhylum)
+                .build();
+    }
+
+    @Scheduled(fixedDelayString = "${zooapi.stats.reconcile-interval:60000}",
+            initialDelayString = "${zooapi.stats.reconcile-interval:60000}")
+    public void reconcile() {
+        synchronize(true);
+    }
+
+    private void synchronize(boolean reportDrift) {
+        if (animalQuantityCounters.isEnabled()) {
+            animalQuantityCounters.flush();
+        }
+        animalQuantityStripes.fold();
+        if (pending.get() != 0) {
+            log.debug("Skipping statistics reconciliation, {} changes are not applied yet", pending.get());
+            return;
+        }
+        long mutationsBefore = mutations.get();
+        Map<Kingdom, Map<Phylum, AnimalQuantityTotal>> actual = new EnumMap<>(Kingdom.class);
+        for (AnimalQuantityTotal total : animalRepository.totalsByKingdomAndPhylum()) {
+            actual.computeIfAbsent(total.getKingdom(), kingdom -> new EnumMap<>(Phylum.class))
+                    .put(total.getPhylum(), total);
+        }
+        if (mutations.get() != mutationsBefore || pending.get() != 0) {
+            log.debug("Skipping statistics reconciliation, animals changed while reading totals");
+            return;
+        }
+        boolean corrected = false;
+        for (Map.Entry<Kingdom, Map<Phylum, Totals>> byKingdom : totals.entrySet()) {
+            for (Map.Entry<Phylum, Totals> entry : byKingdom.getValue().entrySet()) {
+                Kingdom kingdom = byKingdom.getKey();
+                Phylum phylum = entry.getKey();
+                Totals cell = entry.getValue();
+                AnimalQuantityTotal total = actual.getOrDefault(kingdom, Map.of()).get(phylum);
+                long speciesDrift = (total == null ? 0 : total.getSpecies()) - cell.species.sum();
+                long quantityDrift = (total == null ? 0 : total.getQuantity()) - cell.quantity.sum();
+                if (speciesDrift == 0 && quantityDrift == 0) {
+                    continue;
+                }
+                cell.species.add(speciesDrift);
+                cell.quantity.add(quantityDrift);
+                corrected = true;
+                if (reportDrift) {
+                    log.warn("Correcting {}/{} statistics drift of {} species and {} animals",
+                            kingdom, phylum, speciesDrift, quantityDrift);
+                    drift.increment();
+                }
+            }
+        }
+        if (corrected) {
+            mutations.incrementAndGet();
+        }
+    }
+
+    private void record(Kingdom kingdom, Phylum phylum, long species, long quantity) {
+        mutations.incrementAndGet();
+        pending.incrementAndGet();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(kingdom, phylum, species, quantity);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    pending.decrementAndGet();
+                }
+            });
+        } else {
+            apply(kingdom, phylum, species, quantity);
+            pending.decrementAndGet();
+        }
+    }
+
+    private void apply(Kingdom kingdom, Phylum phylum, long species, long quantity) {
+        Totals cell = totals.get(kingdom).get(phylum);
+        cell.species.add(species);
+        cell.quantity.add(quantity);
+        mutations.incrementAndGet();
+    }
+
+    private static final class Totals {
+        private final LongAdder species = new LongAdder();
+        private final LongAdder quantity = new LongAdder();
+    }
+}
@@ -0,0 +1,118 @@
+package org.vescm.zooapi.service;
+
+import lombok.AllArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.vescm.zooapi.constants.AnimalConstants;
+import org.vescm.zooapi.dto.AnimalDto;
+import org.vescm.zooapi.dto.AnimalStatsDto;
+import org.vescm.zooapi.exception.AnimalAlreadyExistsException;
+import org.vescm.zooapi.exception.AnimalLimitExceededException;
+import org.vescm.zooapi.exception.AnimalNotFoundException;
+import org.vescm.zooapi.exception.AnimalNumberAlreadyZeroException;
+import org.vescm.zooapi.mapper.AnimalMapper;
+import org.vescm.zooapi.model.Animal;
+import org.vescm.zooapi.repository.ReactiveAnimalRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.function.Consumer;
+
+@Service
+@Profile("reactive")
+@AllArgsConstructor(onConstructor = @__(@Autowired))
+public class ReactiveAnimalService {
+    private final ReactiveAnimalRepository animalRepository;
+    private final AnimalStatistics animalStatistics;
+    private final AnimalChanges animalChanges;
+    private final AnimalLimits animalLimits;
+    private final AnimalMapper animalMapper = AnimalMapper.INSTANCE;
+
+    public Mono<AnimalDto> createAnimal(AnimalDto animalDto) {
+        Animal animal = animalMapper.toModel(animalDto);
+        animal.setId(null);
+        return recorded(animalRepository.insert(animal)
+                        .map(animalMapper::toDto)
+                        .onErrorResume(DataIntegrityViolationException.class,
+                                e -> alreadyExists(animalDto.getSpecie(), e)),
+                created -> {
+                    animalStatistics.created(created);
+                    animalChanges.created(created);
+                });
+    }
+
+    public Mono<AnimalDto> getById(Long id) {
+        return animalRepository.findById(id)
+                .map(animalMapper::toDto)
+                .switchIfEmpty(Mono.error(() -> AnimalNotFoundException.withId(id)));
+    }
+
+    public Mono<AnimalDto> getBySpecie(String specie) {
+        return animalRepository.findBySpecie(specie)
+                .map(animalMapper::toDto)
+                .switchIfEmpty(Mono.error(() -> AnimalNotFoundException.ofSpecie(specie)));
+    }
+
+    public Flux<AnimalDto> listAll(Long afterId, int size) {
+        int pageSize = Math.max(1, Math.min(size, AnimalConstants.MAX_PAGE_SIZE));
+        return animalRepository.findPage(afterId == null ? 0L : afterId, pageSize)
+                .map(animalMapper::toDto);
+    }
+
+    public Mono<Void> deleteById(Long id) {
+        return getById(id)
+                .flatMap(animalDto -> recorded(animalRepository.deleteById(id)
+                                .flatMap(deleted -> deleted == 0
+                                        ? Mono.<AnimalDto>error(AnimalNotFoundException.withId(id))
+                                        : Mono.just(animalDto)),
+                        deleted -> {
+                            animalStatistics.deleted(deleted);
+                            animalChanges.deleted(deleted);
+                        }))
+                .then();
+    }
+
+    public Mono<AnimalStatsDto> getStatistics() {
+        return Mono.fromSupplier(animalStatistics::snapshot);
+    }
+
+    public Mono<AnimalDto> increaseAnimalNumber(Long id, int quantity) {
+        return recorded(animalRepository.addQuantity(id, quantity, animalLimits.getMin(), animalLimits.getMax())
+                        .flatMap(updated -> updated == 0
+                                ? getById(id).flatMap(animal ->
+                                        Mono.<AnimalDto>error(new AnimalLimitExceededException(animal.getSpecie())))
+                                : getById(id)),
+                animal -> quantityChanged(animal, quantity));
+    }
+
+    public Mono<AnimalDto> decreaseAnimalNumber(Long id, int quantity) {
+        return recorded(animalRepository.addQuantity(id, -quantity, animalLimits.getMin(), animalLimits.getMax())
+                        .flatMap(updated -> updated == 0
+                                ? getById(id).flatMap(animal ->
+                                        Mono.<AnimalDto>error(new AnimalNumberAlreadyZeroException()))
+                                : getById(id)),
+                animal -> quantityChanged(animal, -quantity));
+    }
+
+    private void quantityChanged(AnimalDto animalDto, int delta) {
+        animalStatistics.quantityChanged(animalDto, delta);
+        animalChanges.quantityChanged(animalDto, delta);
+    }
+
+    private Mono<AnimalDto> alreadyExists(String specie, DataIntegrityViolationException e) {
+        return animalRepository.findBySpecie(specie)
+                .flatMap(existing -> Mono.<AnimalDto>error(new AnimalAlreadyExistsException(specie)))
+                .switchIfEmpty(Mono.error(e));
+    }
+
+    private Mono<AnimalDto> recorded(Mono<AnimalDto> write, Consumer<AnimalDto> record) {
+        Mono<AnimalDto> written = animalChanges.isEnabled() ? write.publishOn(Schedulers.boundedElastic()) : write;
+        return Mono.using(() -> {
+            animalStatistics.beginChange();
+            return animalStatistics;
+        }, statistics -> written.doOnNext(record), AnimalStatistics::endChange);
+    }
+}
@@ -0,0 +1,184 @@
+package org.vescm.zooapi.snapshot;
+
+import org.vescm.zooapi.dto.AnimalDto;
+import org.vescm.zooapi.enums.Kingdom;
+import org.vescm.zooapi.enums.Phylum;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+
+public final class AnimalSnapshot {
+    private static final int MAGIC = 0x5A4F4F53;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 20;
+    private static final int RECORD_SIZE = 24;
+    private static final int HASH_ENTRY_SIZE = 8;
+
+    private final ByteBuffer buffer;
+    private final int size;
+    private final int hashIndexOffset;
+    private final int stringsOffset;
+
+    private AnimalSnapshot(ByteBuffer buffer) {
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IllegalArgumentException("Not an animal snapshot");
+        }
+        this.buffer = buffer;
+        this.size = buffer.getInt(8);
+        this.hashIndexOffset = buffer.getInt(12);
+        this.stringsOffset = buffer.getInt(16);
+    }
+
+    public static AnimalSnapshot open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new AnimalSnapshot(buffer);
+        }
+    }
+
+    public static void write(Path file, Collection<AnimalDto> animals) throws IOException {
+        List<AnimalDto> records = new ArrayList<>(animals);
+        records.sort(Comparator.comparing(AnimalDto::getId));
+        byte[][] species = new byte[records.size()][];
+        int stringsSize = 0;
+        for (int i = 0; i < records.size(); i++) {
+            species[i] = records.get(i).getSpecie().getBytes(StandardCharsets.UTF_8);
+            stringsSize += species[i].length;
+        }
+        int hashIndexOffset = HEADER_SIZE + records.size() * RECORD_SIZE;
+        int stringsOffset = hashIndexOffset + records.size() * HASH_ENTRY_SIZE;
+        ByteBuffer buffer = ByteBuffer.allocate(stringsOffset + stringsSize);
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(records.size()).putInt(hashIndexOffset).putInt(stringsOffset);
+
+        long[] hashIndex = new long[records.size()];
+        int specieOffset = 0;
+        for (int i = 0; i < records.size(); i++) {
+            AnimalDto animal = records.get(i);
+            buffer.putLong(animal.getId())
+                    .putShort(animal.getKingdom().getCode())
+                    .putShort(animal.getPhylum().getCode())
+                    .putInt(animal.getQuantity())
+                    .putInt(specieOffset)
+                    .putInt(species[i].length);
+            specieOffset += species[i].length;
+            hashIndex[i] = ((long) animal.getSpecie().hashCode() << 32) | i;
+        }
+        Arrays.sort(hashIndex);
+        for (long entry : hashIndex) {
+            buffer.putLong(entry);
+        }
+        for (byte[] specie : species) {
+            buffer.put(specie);
+        }
+        buffer.flip();
+
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public AnimalDto findById(long id) {
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            long middleId = buffer.getLong(recordOffset(middle));
+            if (middleId < id) {
+                low = middle + 1;
+            } else if (middleId > id) {
+                high = middle - 1;
+            } else {
+                return read(middle);
+            }
+        }
+        return null;
+    }
+
+    public AnimalDto findBySpecie(String specie) {
+        int hash = specie.hashCode();
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (buffer.getInt(hashEntryOffset(middle)) < hash) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        byte[] bytes = specie.getBytes(StandardCharsets.UTF_8);
+        for (int entry = low; entry < size && buffer.getInt(hashEntryOffset(entry)) == hash; entry++) {
+            int index = buffer.getInt(hashEntryOffset(entry) + 4);
+            if (specieEquals(index, bytes)) {
+                return read(index);
+            }
+        }
+        return null;
+    }
+
+    public void forEach(Consumer<AnimalDto> consumer) {
+        for (int i = 0; i < size; i++) {
+            consumer.accept(read(i));
+        }
+    }
+
+    private AnimalDto read(int index) {
+        int offset = recordOffset(index);
+        byte[] specie = new byte[buffer.getInt(offset + 20)];
+        buffer.duplicate().position(stringsOffset + buffer.getInt(offset + 16)).get(specie);
+        return new AnimalDto(
+                buffer.getLong(offset),
+                new String(specie, StandardCharsets.UTF_8),
+                Kingdom.fromCode(buffer.getShort(offset + 8)),
+                Phylum.fromCode(buffer.getShort(offset + 10)),
+                buffer.getInt(offset + 12));
+    }
+
+    private boolean specieEquals(int index, byte[] specie) {
+        int offset = recordOffset(index);
+        if (buffer.getInt(offset + 20) != specie.length) {
+            return false;
+        }
+        int specieOffset = stringsOffset + buffer.getInt(offset + 16);
+        for (int i = 0; i < specie.length; i++) {
+            if (buffer.get(specieOffset + i) != specie[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int recordOffset(int index) {
+        return HEADER_SIZE + index * RECORD_SIZE;
+    }
+
+    private int hashEntryOffset(int entry) {
+        return hashIndexOffset + entry * HASH_ENTRY_SIZE;
+    }
+}
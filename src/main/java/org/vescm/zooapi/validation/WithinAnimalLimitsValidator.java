@@ -0,0 +1,32 @@
+package org.vescm.zooapi.validation;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.vescm.zooapi.constants.AnimalConstants;
+import org.vescm.zooapi.service.AnimalLimits;
+
+import javax.validation.ConstraintValidator;
+import javax.validation.ConstraintValidatorContext;
+
+public class WithinAnimalLimitsValidator implements ConstraintValidator<WithinAnimalLimits, Integer> {
+    private final AnimalLimits animalLimits;
+
+    public WithinAnimalLimitsValidator() {
+        this(new AnimalLimits(AnimalConstants.MIN, AnimalConstants.MAX));
+    }
+
+    @Autowired
+    public WithinAnimalLimitsValidator(AnimalLimits animalLimits) {
+        this.animalLimits = animalLimits;
+    }
+
+    @Override
+    public boolean isValid(Integer quantity, ConstraintValidatorContext context) {
+        if (quantity == null || quantity <= animalLimits.getMax()) {
+            return true;
+        }
+        context.disableDefaultConstraintViolation();
+        context.buildConstraintViolationWithTemplate("must be less than or equal to " + animalLimits.getMax())
+                .addConstraintViolation();
+        return false;
+    }
+}
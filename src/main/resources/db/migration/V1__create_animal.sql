@@ -0,0 +1,14 @@
+create sequence animal_seq start with 1 increment by 50;
+
+create table animal (
+    id bigint not null,
+    specie varchar(255) not null,
+    kingdom varchar(255) not null,
+    phylum varchar(255) not null,
+    quantity integer not null,
+    primary key (id)
+);
+
+create unique index ux_animal_specie on animal (specie);
+create index ix_animal_kingdom_phylum_quantity on animal (kingdom, phylum, quantity);
+create index ix_animal_phylum_quantity on animal (phylum, quantity);
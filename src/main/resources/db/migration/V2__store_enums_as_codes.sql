@@ -0,0 +1,32 @@
+drop index ix_animal_kingdom_phylum_quantity;
+drop index ix_animal_phylum_quantity;
+
+alter table animal add column kingdom_code smallint;
+alter table animal add column phylum_code smallint;
+
+update animal set kingdom_code = case kingdom
+    when 'ANIMAL' then 1
+    when 'PLANTS' then 2
+    when 'FUNGI' then 3
+    when 'PROTISTA' then 4
+    when 'EUBACTERIA' then 5
+    when 'ARCHAEBACTERIA' then 6
+end;
+
+update animal set phylum_code = case phylum
+    when 'CNIDARIA' then 1
+    when 'MOLLUSCA' then 2
+    when 'ARTHROPODA' then 3
+    when 'CHORDATA' then 4
+end;
+
+alter table animal alter column kingdom_code set not null;
+alter table animal alter column phylum_code set not null;
+
+alter table animal drop column kingdom;
+alter table animal drop column phylum;
+alter table animal alter column kingdom_code rename to kingdom;
+alter table animal alter column phylum_code rename to phylum;
+
+create index ix_animal_kingdom_phylum_quantity on animal (kingdom, phylum, quantity);
+create index ix_animal_phylum_quantity on animal (phylum, quantity);
@@ -0,0 +1,9 @@
+create table animal_quantity_stripe (
+    animal_id bigint not null,
+    stripe smallint not null,
+    delta integer not null,
+    up_limit integer not null,
+    down_limit integer not null,
+    constraint pk_animal_quantity_stripe primary key (animal_id, stripe),
+    constraint fk_animal_quantity_stripe_animal foreign key (animal_id) references animal (id) on delete cascade
+);
@@ -0,0 +1 @@
+alter table animal add column version bigint default 0 not null;
@@ -0,0 +1,138 @@
+package org.vescm.zooapi.changelog;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class AnimalChangeLogTests {
+    @TempDir
+    Path directory;
+
+    @Test
+    void whenChangesAreAppendedThenTheyAreReadInOrderAfterTheGivenSequence() throws IOException {
+        try (AnimalChangeLog log = AnimalChangeLog.open(directory, 1024)) {
+            for (int i = 1; i <= 5; i++) {
+                assertThat(log.append(bytes("change " + i)), is((long) i));
+            }
+
+            assertThat(readAll(log, 2), contains("3:change 3", "4:change 4", "5:change 5"));
+            assertThat(readAll(log, 5), is(empty()));
+        }
+    }
+
+    @Test
+    void whenSegmentIsFullThenNewSegmentIsStartedAndReadsSpanSegments() throws IOException {
+        try (AnimalChangeLog log = AnimalChangeLog.open(directory, 64)) {
+            for (int i = 1; i <= 10; i++) {
+                log.append(bytes("change " + i));
+            }
+
+            assertThat(segmentCount(), is(greaterThan(1L)));
+            assertThat(readAll(log, 0), hasSize(10));
+            assertThat(readAll(log, 8), contains("9:change 9", "10:change 10"));
+        }
+    }
+
+    @Test
+    void whenSegmentsExceedRetainedSizeThenOldestAreDeletedAndReadsStartAtTheFirstKept() throws IOException {
+        try (AnimalChangeLog log = AnimalChangeLog.open(directory, 64)) {
+            for (int i = 1; i <= 10; i++) {
+                log.append(bytes("change " + i));
+            }
+            long segments = segmentCount();
+
+            int deleted = log.deleteSegments(64, Long.MAX_VALUE);
+
+            assertThat(deleted, is(greaterThan(0)));
+            assertThat(segmentCount(), is(segments - deleted));
+            assertThat(readAll(log, 0), hasItem("10:change 10"));
+            assertThat(readAll(log, 0), not(hasItem("1:change 1")));
+            assertThat(log.append(bytes("change 11")), is(11L));
+        }
+    }
+
+    @Test
+    void whenSegmentsAreOlderThanRetainedAgeThenAllButTheActiveOneAreDeleted() throws IOException {
+        try (AnimalChangeLog log = AnimalChangeLog.open(directory, 64)) {
+            for (int i = 1; i <= 10; i++) {
+                log.append(bytes("change " + i));
+            }
+
+            assertThat(log.deleteSegments(Long.MAX_VALUE, Long.MAX_VALUE), is(0));
+            log.deleteSegments(Long.MAX_VALUE, -1);
+
+            assertThat(segmentCount(), is(1L));
+            assertThat(readAll(log, 0), hasItem("10:change 10"));
+        }
+    }
+
+    @Test
+    void whenLogIsReopenedThenSequencesContinueAndTornTailIsDiscarded() throws IOException {
+        try (AnimalChangeLog log = AnimalChangeLog.open(directory, 1024)) {
+            log.append(bytes("change 1"));
+            log.append(bytes("change 2"));
+        }
+        Path segment;
+        try (Stream<Path> files = Files.list(directory)) {
+            segment = files.findFirst().orElseThrow();
+        }
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(new byte[]{0, 0, 0, 42, 0, 0}));
+        }
+
+        try (AnimalChangeLog log = AnimalChangeLog.open(directory, 1024)) {
+            assertThat(log.getLastSequence(), is(2L));
+            assertThat(log.append(bytes("change 3")), is(3L));
+            assertThat(readAll(log, 0), contains("1:change 1", "2:change 2", "3:change 3"));
+        }
+    }
+
+    @Test
+    void whenChangeIsAppendedThenWaitingReaderIsWokenUp() throws Exception {
+        try (AnimalChangeLog log = AnimalChangeLog.open(directory, 1024)) {
+            Thread writer = new Thread(() -> {
+                try {
+                    Thread.sleep(50);
+                    log.append(bytes("change 1"));
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            writer.start();
+
+            assertThat(log.awaitAfter(0, 5000), is(true));
+            assertThat(log.awaitAfter(1, 10), is(false));
+            writer.join();
+        }
+    }
+
+    private static List<String> readAll(AnimalChangeLog log, long since) throws IOException {
+        List<String> changes = new ArrayList<>();
+        log.read(since, Integer.MAX_VALUE, (sequence, payload) ->
+                changes.add(sequence + ":" + new String(payload, StandardCharsets.UTF_8)));
+        return changes;
+    }
+
+    private long segmentCount() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
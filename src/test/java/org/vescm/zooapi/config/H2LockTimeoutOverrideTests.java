@@ -0,0 +1,29 @@
+package org.vescm.zooapi.config;
+
+import com.zaxxer.hikari.SQLExceptionOverride;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class H2LockTimeoutOverrideTests {
+    private final H2LockTimeoutOverride override = new H2LockTimeoutOverride();
+
+    @Test
+    void whenALockTimesOutThenTheConnectionIsKept() {
+        SQLException lockTimeout = new SQLTimeoutException("Timeout trying to lock table", "HYT00",
+                H2LockTimeoutOverride.LOCK_TIMEOUT);
+
+        assertThat(override.adjudicate(lockTimeout), is(equalTo(SQLExceptionOverride.Override.DO_NOT_EVICT)));
+    }
+
+    @Test
+    void whenAnotherErrorHappensThenHikariDecides() {
+        SQLException closed = new SQLException("Connection is broken", "08006", 90067);
+
+        assertThat(override.adjudicate(closed), is(equalTo(SQLExceptionOverride.Override.CONTINUE_EVICT)));
+    }
+}
@@ -0,0 +1,81 @@
+package org.vescm.zooapi.config;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.CompletableFuture;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class PermitDataSourceTests {
+    @Mock
+    private DataSource targetDataSource;
+
+    @Mock
+    private Connection connection;
+
+    @Test
+    void whenAllPermitsAreTakenThenTheNextConnectionTimesOut() throws SQLException {
+        when(targetDataSource.getConnection()).thenReturn(connection);
+        PermitDataSource dataSource = new PermitDataSource(targetDataSource, 1, 10);
+
+        Connection first = CompletableFuture.supplyAsync(() -> {
+            try {
+                return dataSource.getConnection();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        }).join();
+
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+        first.close();
+        assertThat(dataSource.getAvailablePermits(), is(equalTo(1)));
+        verify(connection).close();
+    }
+
+    @Test
+    void whenAThreadOpensANestedConnectionThenItReusesItsPermit() throws SQLException {
+        when(targetDataSource.getConnection()).thenReturn(connection);
+        PermitDataSource dataSource = new PermitDataSource(targetDataSource, 1, 10);
+
+        Connection outer = dataSource.getConnection();
+        Connection inner = dataSource.getConnection();
+        inner.close();
+
+        assertThat(dataSource.getAvailablePermits(), is(equalTo(0)));
+        outer.close();
+        assertThat(dataSource.getAvailablePermits(), is(equalTo(1)));
+    }
+
+    @Test
+    void whenConnectionIsClosedTwiceThenItsPermitIsReleasedOnce() throws SQLException {
+        when(targetDataSource.getConnection()).thenReturn(connection);
+        PermitDataSource dataSource = new PermitDataSource(targetDataSource, 2, 10);
+
+        Connection first = dataSource.getConnection();
+        first.close();
+        first.close();
+
+        assertThat(dataSource.getAvailablePermits(), is(equalTo(2)));
+    }
+
+    @Test
+    void whenTargetFailsToConnectThenThePermitIsReturned() throws SQLException {
+        when(targetDataSource.getConnection()).thenThrow(new SQLException("down"));
+        PermitDataSource dataSource = new PermitDataSource(targetDataSource, 1, 10);
+
+        assertThrows(SQLException.class, dataSource::getConnection);
+
+        assertThat(dataSource.getAvailablePermits(), is(equalTo(1)));
+    }
+}
@@ -0,0 +1,37 @@
+package org.vescm.zooapi.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class VirtualThreadConfigTests {
+    private static final String PARALLELISM = "jdk.virtualThreadScheduler.parallelism";
+
+    @AfterEach
+    void tearDown() {
+        System.clearProperty(PARALLELISM);
+    }
+
+    @Test
+    void whenPermitsAreConfiguredThenTheyAreUsedAsIs() {
+        System.setProperty(PARALLELISM, "2");
+
+        assertThat(VirtualThreadConfig.jdbcPermits(16, 10), is(equalTo(16)));
+    }
+
+    @Test
+    void whenThereAreFewerCarriersThanConnectionsThenPermitsFollowTheCarriers() {
+        System.setProperty(PARALLELISM, "4");
+
+        assertThat(VirtualThreadConfig.jdbcPermits(0, 10), is(equalTo(4)));
+    }
+
+    @Test
+    void whenThereAreMoreCarriersThanConnectionsThenPermitsFollowThePool() {
+        System.setProperty(PARALLELISM, "32");
+
+        assertThat(VirtualThreadConfig.jdbcPermits(0, 10), is(equalTo(10)));
+    }
+}
@@ -0,0 +1,139 @@
+package org.vescm.zooapi.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.vescm.zooapi.builder.AnimalDtoBuilder;
+import org.vescm.zooapi.dto.AnimalDto;
+import org.vescm.zooapi.service.AnimalBatchService;
+import org.vescm.zooapi.service.AnimalConcurrencyLimiter;
+import org.vescm.zooapi.service.AnimalRateLimiter;
+import org.vescm.zooapi.service.AnimalService;
+
+import java.time.Duration;
+
+import static org.hamcrest.core.Is.is;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+public class AnimalAdmissionFilterTests {
+    private static final String ANIMAL_API_URL_PATH = "/api/v1/animals";
+
+    @Mock
+    private AnimalService animalService;
+
+    @Mock
+    private AnimalBatchService animalBatchService;
+
+    @Mock
+    private AnimalChangeStreams animalChangeStreams;
+
+    private MockMvc mockMvc;
+
+    private final AnimalDto animalDto = AnimalDtoBuilder.builder().build().toAnimalDto();
+
+    @BeforeEach
+    void setUp() {
+        AnimalController animalController = new AnimalController(animalService, animalBatchService,
+                animalChangeStreams, new ObjectMapper());
+        AnimalRateLimiter animalRateLimiter = new AnimalRateLimiter(new SimpleMeterRegistry(), true,
+                "X-API-Key", 100, 1000, 100, 1, 1);
+        AnimalConcurrencyLimiter animalConcurrencyLimiter = new AnimalConcurrencyLimiter(new SimpleMeterRegistry(),
+                true, 1, 8, 0.9, 4, Duration.ofSeconds(1), 4, Duration.ofSeconds(1));
+        mockMvc = MockMvcBuilders.standaloneSetup(animalController)
+                .setControllerAdvice(new AnimalExceptionHandler())
+                .addFilters(new AnimalAdmissionFilter(animalRateLimiter, animalConcurrencyLimiter, new ObjectMapper()))
+                .build();
+    }
+
+    @Test
+    void whenWriteBudgetIsExhaustedThenTooManyRequestsIsReturnedWithRetryAfter() throws Exception {
+        mockMvc.perform(delete(ANIMAL_API_URL_PATH + "/" + animalDto.getId()))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(delete(ANIMAL_API_URL_PATH + "/" + animalDto.getId()))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"))
+                .andExpect(jsonPath("$.status", is(429)));
+
+        verify(animalService, times(1)).deleteById(animalDto.getId());
+    }
+
+    @Test
+    void whenWriteBudgetIsExhaustedThenReadsAndOtherClientsAreStillServed() throws Exception {
+        when(animalService.getBySpecie(animalDto.getSpecie())).thenReturn(animalDto);
+        mockMvc.perform(delete(ANIMAL_API_URL_PATH + "/" + animalDto.getId()))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get(ANIMAL_API_URL_PATH + "/" + animalDto.getSpecie()))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete(ANIMAL_API_URL_PATH + "/" + animalDto.getId())
+                .with(request -> {
+                    request.setRemoteAddr("10.0.0.2");
+                    return request;
+                }))
+                .andExpect(status().isNoContent());
+
+        verify(animalService, times(2)).deleteById(animalDto.getId());
+    }
+
+    @Test
+    void whenClientSendsAFreshApiKeyThenItsAddressIsStillLimited() throws Exception {
+        mockMvc.perform(delete(ANIMAL_API_URL_PATH + "/" + animalDto.getId())
+                .header("X-API-Key", "first key"))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(delete(ANIMAL_API_URL_PATH + "/" + animalDto.getId())
+                .header("X-API-Key", "second key"))
+                .andExpect(status().isTooManyRequests());
+
+        verify(animalService, times(1)).deleteById(animalDto.getId());
+    }
+
+    @Test
+    void whenApiKeyIsExhaustedThenItIsLimitedFromAnotherAddressToo() throws Exception {
+        mockMvc.perform(delete(ANIMAL_API_URL_PATH + "/" + animalDto.getId())
+                .header("X-API-Key", "shared key"))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(delete(ANIMAL_API_URL_PATH + "/" + animalDto.getId())
+                .header("X-API-Key", "shared key")
+                .with(request -> {
+                    request.setRemoteAddr("10.0.0.3");
+                    return request;
+                }))
+                .andExpect(status().isTooManyRequests());
+
+        verify(animalService, times(1)).deleteById(animalDto.getId());
+    }
+
+    @Test
+    void whenChangeStreamsAreOpenThenTheyDoNotUseTheReadBudget() throws Exception {
+        when(animalChangeStreams.follow(0L)).thenAnswer(invocation -> new SseEmitter());
+        when(animalService.getBySpecie(animalDto.getSpecie())).thenReturn(animalDto);
+
+        for (int i = 0; i < 8; i++) {
+            mockMvc.perform(get(ANIMAL_API_URL_PATH + "/changes"))
+                    .andExpect(request().asyncStarted());
+        }
+
+        mockMvc.perform(get(ANIMAL_API_URL_PATH + "/" + animalDto.getSpecie()))
+                .andExpect(status().isOk());
+    }
+}
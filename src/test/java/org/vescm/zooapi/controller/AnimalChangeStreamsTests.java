@@ -0,0 +1,184 @@
+package org.vescm.zooapi.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.vescm.zooapi.builder.AnimalDtoBuilder;
+import org.vescm.zooapi.dto.AnimalChangeDto;
+import org.vescm.zooapi.dto.AnimalDto;
+import org.vescm.zooapi.enums.AnimalChangeType;
+import org.vescm.zooapi.repository.AnimalRepository;
+import org.vescm.zooapi.service.AnimalChanges;
+import org.vescm.zooapi.service.AnimalService;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class AnimalChangeStreamsTests {
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private AnimalService animalService;
+
+    @Autowired
+    private AnimalChanges animalChanges;
+
+    @Autowired
+    private AnimalRepository animalRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @DynamicPropertySource
+    static void changeLogProperties(DynamicPropertyRegistry registry) throws IOException {
+        String directory = Files.createTempDirectory("zooapi-changes").toString();
+        registry.add("zooapi.changes.enabled", () -> "true");
+        registry.add("zooapi.changes.path", () -> directory);
+        registry.add("zooapi.changes.heartbeat", () -> "1s");
+        registry.add("zooapi.changes.max-subscribers", () -> "2");
+    }
+
+    @Autowired
+    private AnimalChangeStreams animalChangeStreams;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        animalRepository.deleteAll();
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (animalChangeStreams.getSubscribers() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(100);
+        }
+    }
+
+    @Test
+    void whenStreamIsOpenedThenPastChangesAreReplayedAndNewOnesFollow() throws Exception {
+        long since = animalChanges.lastSequence();
+        AnimalDto okapi = animalService.createAnimal(AnimalDtoBuilder.builder().specie("Okapi").quantity(2)
+                .build().toAnimalDto());
+        animalService.increaseAnimalNumber(okapi.getId(), 1);
+
+        try (Stream<String> lines = open("?since=" + since)) {
+            BlockingQueue<AnimalChangeDto> events = collect(lines);
+
+            AnimalChangeDto created = next(events);
+            AnimalChangeDto increased = next(events);
+            assertThat(created.getSequence(), is(since + 1));
+            assertThat(created.getType(), is(AnimalChangeType.CREATED));
+            assertThat(increased.getSequence(), is(since + 2));
+            assertThat(increased.getType(), is(AnimalChangeType.INCREASED));
+            assertThat(increased.getQuantity(), is(3));
+
+            animalService.decreaseAnimalNumber(okapi.getId(), 2);
+
+            AnimalChangeDto decreased = next(events);
+            assertThat(decreased.getSequence(), is(since + 3));
+            assertThat(decreased.getType(), is(AnimalChangeType.DECREASED));
+            assertThat(decreased.getQuantity(), is(1));
+            assertThat(decreased.getDelta(), is(-2));
+        }
+    }
+
+    @Test
+    void whenStreamIsResumedWithLastEventIdThenOnlyLaterChangesAreSent() throws Exception {
+        AnimalDto tapir = animalService.createAnimal(AnimalDtoBuilder.builder().specie("Tapir").quantity(2)
+                .build().toAnimalDto());
+        long resumeAfter = animalChanges.lastSequence();
+        animalService.increaseAnimalNumber(tapir.getId(), 1);
+
+        HttpRequest request = HttpRequest.newBuilder(uri(""))
+                .header("Last-Event-ID", Long.toString(resumeAfter))
+                .GET()
+                .build();
+        try (Stream<String> lines = client.send(request, HttpResponse.BodyHandlers.ofLines()).body()) {
+            AnimalChangeDto first = next(collect(lines));
+
+            assertThat(first.getSequence(), is(resumeAfter + 1));
+            assertThat(first.getType(), is(AnimalChangeType.INCREASED));
+        }
+    }
+
+    @Test
+    void whenTooManyStreamsAreOpenThenExtraSubscribersAreRejected() throws Exception {
+        List<HttpResponse<Stream<String>>> responses = new ArrayList<>();
+        try {
+            for (int i = 0; i < 3; i++) {
+                responses.add(client.send(HttpRequest.newBuilder(uri("")).GET().build(),
+                        HttpResponse.BodyHandlers.ofLines()));
+            }
+
+            assertThat(responses.get(0).statusCode(), is(200));
+            assertThat(responses.get(2).statusCode(), is(503));
+        } finally {
+            responses.forEach(response -> response.body().close());
+        }
+    }
+
+    @Test
+    void whenTransactionRollsBackThenNoChangeIsLogged() {
+        AnimalDto animalDto = AnimalDtoBuilder.builder().build().toAnimalDto();
+        long before = animalChanges.lastSequence();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            animalChanges.quantityChanged(animalDto, 1);
+            status.setRollbackOnly();
+        });
+
+        assertThat(animalChanges.lastSequence(), is(before));
+    }
+
+    private Stream<String> open(String query) throws Exception {
+        return client.send(HttpRequest.newBuilder(uri(query)).GET().build(), HttpResponse.BodyHandlers.ofLines())
+                .body();
+    }
+
+    private URI uri(String query) {
+        return URI.create("http://localhost:" + port + "/api/v1/animals/changes" + query);
+    }
+
+    private BlockingQueue<AnimalChangeDto> collect(Stream<String> lines) {
+        BlockingQueue<AnimalChangeDto> events = new LinkedBlockingQueue<>();
+        CompletableFuture.runAsync(() -> lines.forEach(line -> {
+            if (line.startsWith("data:")) {
+                try {
+                    events.add(objectMapper.readValue(line.substring("data:".length()), AnimalChangeDto.class));
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        }));
+        return events;
+    }
+
+    private static AnimalChangeDto next(BlockingQueue<AnimalChangeDto> events) throws InterruptedException {
+        AnimalChangeDto event = events.poll(10, TimeUnit.SECONDS);
+        assertThat(event, is(notNullValue()));
+        return event;
+    }
+}
@@ -1,33 +1,53 @@
 package org.vescm.zooapi.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.servlet.view.json.MappingJackson2JsonView;
 import org.vescm.zooapi.builder.AnimalDtoBuilder;
+import org.vescm.zooapi.constants.AnimalConstants;
 import org.vescm.zooapi.dto.AnimalDto;
+import org.vescm.zooapi.dto.AnimalQuantityDto;
+import org.vescm.zooapi.dto.AnimalSearchCriteria;
+import org.vescm.zooapi.dto.BatchItemResultDto;
 import org.vescm.zooapi.dto.QuantityDto;
+import org.vescm.zooapi.exception.AnimalBatchTooLargeException;
 import org.vescm.zooapi.exception.AnimalLimitExceededException;
 import org.vescm.zooapi.exception.AnimalNotFoundException;
 import org.vescm.zooapi.exception.AnimalNumberAlreadyZeroException;
+import org.vescm.zooapi.service.AnimalBatchService;
 import org.vescm.zooapi.service.AnimalService;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
 
 import static org.hamcrest.core.Is.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.vescm.zooapi.utils.JsonConvertionUtils.asJsonString;
 
@@ -45,12 +65,22 @@ public class AnimalControllerTests {
     @Mock
     private AnimalService animalService;
 
+    @Mock
+    private AnimalBatchService animalBatchService;
+
+    @Mock
+    private AnimalChangeStreams animalChangeStreams;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
     @InjectMocks
     private AnimalController animalController;
 
     @BeforeEach
     void setUp() {
         mockMvc = MockMvcBuilders.standaloneSetup(animalController)
+                .setControllerAdvice(new AnimalExceptionHandler())
                 .setCustomArgumentResolvers(new PageableHandlerMethodArgumentResolver())
                 .setViewResolvers((s, locale) -> new MappingJackson2JsonView())
                 .build();
@@ -74,6 +104,42 @@ public class AnimalControllerTests {
                 .andExpect(jsonPath("$.phylum", is(animalDto.getPhylum().toString())));
     }
 
+    @Test
+    void whenPOSTBatchIsCalledThenEachItemOutcomeIsReturned() throws Exception {
+        // given
+        AnimalDto animalDto = AnimalDtoBuilder.builder().build().toAnimalDto();
+        List<AnimalDto> animals = Arrays.asList(animalDto, animalDto);
+
+        // when
+        when(animalBatchService.createAnimals(animals)).thenReturn(Arrays.asList(
+                BatchItemResultDto.builder().index(0).status(201).animal(animalDto).build(),
+                BatchItemResultDto.builder().index(1).status(400).error("Animal of specie Dromedary already exists.").build()));
+
+        // then
+        mockMvc.perform(post(ANIMAL_API_URL_PATH + "/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(animals)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status", is(201)))
+                .andExpect(jsonPath("$[0].animal.specie", is(animalDto.getSpecie())))
+                .andExpect(jsonPath("$[1].status", is(400)));
+    }
+
+    @Test
+    void whenPATCHBatchIsCalledWithTooManyItemsThenBadRequestStatusIsReturned() throws Exception {
+        // given
+        List<AnimalQuantityDto> quantities = Collections.singletonList(new AnimalQuantityDto(VALID_ANIMAL_ID, 1));
+
+        // when
+        when(animalBatchService.increaseAnimalNumbers(quantities)).thenThrow(AnimalBatchTooLargeException.class);
+
+        // then
+        mockMvc.perform(MockMvcRequestBuilders.patch(ANIMAL_API_URL_PATH + "/batch" + ANIMAL_API_SUBPATH_INCREMENT_URL)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(quantities)))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void whenPOSTIsCalledWithoutRequiredFieldThenAnErrorIsReturned() throws Exception {
         // given
@@ -110,12 +176,15 @@ public class AnimalControllerTests {
         AnimalDto animalDto = AnimalDtoBuilder.builder().build().toAnimalDto();
 
         //when
-        when(animalService.getBySpecie(animalDto.getSpecie())).thenThrow(AnimalNotFoundException.class);
+        when(animalService.getBySpecie(animalDto.getSpecie()))
+                .thenThrow(AnimalNotFoundException.ofSpecie(animalDto.getSpecie()));
 
         // then
         mockMvc.perform(MockMvcRequestBuilders.get(ANIMAL_API_URL_PATH + "/" + animalDto.getSpecie())
                 .contentType(MediaType.APPLICATION_JSON))
-                .andExpect(status().isNotFound());
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.status", is(404)))
+                .andExpect(jsonPath("$.message", is("Animal  of specie: " + animalDto.getSpecie() + " doesn't exist.")));
     }
 
     @Test
@@ -124,12 +193,13 @@ public class AnimalControllerTests {
         AnimalDto animalDto = AnimalDtoBuilder.builder().build().toAnimalDto();
 
         //when
-        when(animalService.listAll()).thenReturn(Collections.singletonList(animalDto));
+        when(animalService.listAll(null, AnimalConstants.PAGE_SIZE)).thenReturn(Collections.singletonList(animalDto));
 
         // then
         mockMvc.perform(MockMvcRequestBuilders.get(ANIMAL_API_URL_PATH)
                 .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.LINK))
                 .andExpect(jsonPath("$[0].specie", is(animalDto.getSpecie())))
                 .andExpect(jsonPath("$[0].kingdom", is(animalDto.getKingdom().toString())))
                 .andExpect(jsonPath("$[0].phylum", is(animalDto.getPhylum().toString())));
@@ -141,7 +211,7 @@ public class AnimalControllerTests {
         AnimalDto animalDto = AnimalDtoBuilder.builder().build().toAnimalDto();
 
         //when
-        when(animalService.listAll()).thenReturn(Collections.singletonList(animalDto));
+        when(animalService.listAll(null, AnimalConstants.PAGE_SIZE)).thenReturn(Collections.singletonList(animalDto));
 
         // then
         mockMvc.perform(MockMvcRequestBuilders.get(ANIMAL_API_URL_PATH)
@@ -149,6 +219,93 @@ public class AnimalControllerTests {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    void whenGETListWithCursorIsCalledThenOkStatusIsReturned() throws Exception {
+        // given
+        AnimalDto animalDto = AnimalDtoBuilder.builder().id(3L).build().toAnimalDto();
+
+        //when
+        when(animalService.listAll(2L, 1)).thenReturn(Collections.singletonList(animalDto));
+
+        // then
+        mockMvc.perform(MockMvcRequestBuilders.get(ANIMAL_API_URL_PATH)
+                .param("after", "2")
+                .param("size", "1")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.LINK,
+                        "<http://localhost" + ANIMAL_API_URL_PATH + "?after=3&size=1>; rel=\"next\""))
+                .andExpect(jsonPath("$[0].id", is(animalDto.getId().intValue())));
+    }
+
+    @Test
+    void whenGETListWithOversizedPageIsCalledThenSizeIsClampedInTheNextLink() throws Exception {
+        // given
+        List<AnimalDto> animals = new ArrayList<>();
+        for (long id = 1; id <= AnimalConstants.MAX_PAGE_SIZE; id++) {
+            animals.add(AnimalDtoBuilder.builder().id(id).build().toAnimalDto());
+        }
+
+        //when
+        when(animalService.listAll(null, AnimalConstants.MAX_PAGE_SIZE)).thenReturn(animals);
+
+        // then
+        mockMvc.perform(MockMvcRequestBuilders.get(ANIMAL_API_URL_PATH + "?size=" + (AnimalConstants.MAX_PAGE_SIZE + 1)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.LINK, "<http://localhost" + ANIMAL_API_URL_PATH
+                        + "?after=" + AnimalConstants.MAX_PAGE_SIZE + "&size=" + AnimalConstants.MAX_PAGE_SIZE
+                        + ">; rel=\"next\""));
+    }
+
+    @Test
+    void whenGETSearchIsCalledThenFiltersAreBoundFromTheQueryString() throws Exception {
+        // given
+        AnimalDto animalDto = AnimalDtoBuilder.builder().build().toAnimalDto();
+        AnimalSearchCriteria criteria = AnimalSearchCriteria.builder()
+                .specie("Drom")
+                .kingdom(animalDto.getKingdom())
+                .phylum(animalDto.getPhylum())
+                .minQuantity(5)
+                .maxQuantity(8)
+                .build();
+
+        //when
+        when(animalService.search(criteria, null, AnimalConstants.PAGE_SIZE))
+                .thenReturn(Collections.singletonList(animalDto));
+
+        // then
+        mockMvc.perform(MockMvcRequestBuilders.get(ANIMAL_API_URL_PATH + "/search")
+                .param("specie", "Drom")
+                .param("kingdom", "ANIMAL")
+                .param("phylum", "CHORDATA")
+                .param("minQuantity", "5")
+                .param("maxQuantity", "8"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].specie", is(animalDto.getSpecie())));
+    }
+
+    @Test
+    void whenGETStreamIsCalledThenAnimalsAreWrittenAsNewlineDelimitedJson() throws Exception {
+        // given
+        AnimalDto animalDto = AnimalDtoBuilder.builder().build().toAnimalDto();
+
+        //when
+        doAnswer(invocation -> {
+            Consumer<AnimalDto> consumer = invocation.getArgument(0);
+            consumer.accept(animalDto);
+            consumer.accept(animalDto);
+            return null;
+        }).when(animalService).streamAll(any());
+
+        // then
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get(ANIMAL_API_URL_PATH + "/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().string(asJsonString(animalDto) + "\n" + asJsonString(animalDto)));
+    }
+
     @Test
     void whenDELETEIsCalledWithValidIdThenNoContentStatusIsReturned() throws Exception {
         // given
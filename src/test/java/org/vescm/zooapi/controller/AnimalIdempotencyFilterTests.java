@@ -0,0 +1,294 @@
+package org.vescm.zooapi.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.vescm.zooapi.builder.AnimalDtoBuilder;
+import org.vescm.zooapi.dto.AnimalDto;
+import org.vescm.zooapi.dto.QuantityDto;
+import org.vescm.zooapi.exception.AnimalAlreadyExistsException;
+import org.vescm.zooapi.service.AnimalBatchService;
+import org.vescm.zooapi.service.AnimalIdempotencyStore;
+import org.vescm.zooapi.service.AnimalService;
+
+import javax.servlet.Filter;
+import javax.servlet.ReadListener;
+import javax.servlet.http.HttpServletResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.vescm.zooapi.utils.JsonConvertionUtils.asJsonString;
+
+@ExtendWith(MockitoExtension.class)
+public class AnimalIdempotencyFilterTests {
+    private static final String ANIMAL_API_URL_PATH = "/api/v1/animals";
+
+    @Mock
+    private AnimalService animalService;
+
+    @Mock
+    private AnimalBatchService animalBatchService;
+
+    @Mock
+    private AnimalChangeStreams animalChangeStreams;
+
+    private AnimalController animalController;
+
+    private AnimalIdempotencyStore animalIdempotencyStore;
+
+    private MockMvc mockMvc;
+
+    private final AnimalDto animalDto = AnimalDtoBuilder.builder().build().toAnimalDto();
+
+    @BeforeEach
+    void setUp() {
+        animalController = new AnimalController(animalService, animalBatchService,
+                animalChangeStreams, new ObjectMapper());
+        animalIdempotencyStore = new AnimalIdempotencyStore(new SimpleMeterRegistry(),
+                true, "X-API-Key", 100, Duration.ofMinutes(1), Duration.ofSeconds(10));
+        mockMvc = MockMvcBuilders.standaloneSetup(animalController)
+                .setControllerAdvice(new AnimalExceptionHandler())
+                .addFilters(new AnimalIdempotencyFilter(animalIdempotencyStore, new ObjectMapper()))
+                .build();
+    }
+
+    @Test
+    void whenResponseHasHeadersThenTheyAreReplayed() throws Exception {
+        when(animalService.createAnimal(animalDto)).thenReturn(animalDto);
+        String location = ANIMAL_API_URL_PATH + "/" + animalDto.getId();
+        Filter locationFilter = (request, response, chain) -> {
+            ((HttpServletResponse) response).setHeader(HttpHeaders.LOCATION, location);
+            chain.doFilter(request, response);
+        };
+        mockMvc = MockMvcBuilders.standaloneSetup(animalController)
+                .setControllerAdvice(new AnimalExceptionHandler())
+                .addFilters(new AnimalIdempotencyFilter(animalIdempotencyStore, new ObjectMapper()), locationFilter)
+                .build();
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(post(ANIMAL_API_URL_PATH)
+                    .header(AnimalIdempotencyFilter.IDEMPOTENCY_KEY, "create-3")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(asJsonString(animalDto)))
+                    .andExpect(status().isCreated())
+                    .andExpect(header().string(HttpHeaders.LOCATION, location))
+                    .andExpect(header().string(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE));
+        }
+
+        verify(animalService, times(1)).createAnimal(animalDto);
+    }
+
+    @Test
+    void whenBodyIsReadAsynchronouslyThenTheReadListenerIsNotified() throws Exception {
+        when(animalService.createAnimal(animalDto)).thenReturn(animalDto);
+        List<String> events = new ArrayList<>();
+        Filter readListenerFilter = (request, response, chain) -> {
+            request.getInputStream().setReadListener(new ReadListener() {
+                @Override
+                public void onDataAvailable() {
+                    events.add("dataAvailable");
+                }
+
+                @Override
+                public void onAllDataRead() {
+                    events.add("allDataRead");
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    events.add("error");
+                }
+            });
+            chain.doFilter(request, response);
+        };
+        mockMvc = MockMvcBuilders.standaloneSetup(animalController)
+                .setControllerAdvice(new AnimalExceptionHandler())
+                .addFilters(new AnimalIdempotencyFilter(animalIdempotencyStore, new ObjectMapper()),
+                        readListenerFilter)
+                .build();
+
+        mockMvc.perform(post(ANIMAL_API_URL_PATH)
+                .header(AnimalIdempotencyFilter.IDEMPOTENCY_KEY, "create-4")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(animalDto)))
+                .andExpect(status().isCreated());
+
+        assertThat(events, is(List.of("dataAvailable", "allDataRead")));
+    }
+
+    @Test
+    void whenPOSTIsRetriedWithTheSameKeyThenStoredResponseIsReplayed() throws Exception {
+        when(animalService.createAnimal(animalDto)).thenReturn(animalDto);
+
+        MvcResult first = mockMvc.perform(post(ANIMAL_API_URL_PATH)
+                .header(AnimalIdempotencyFilter.IDEMPOTENCY_KEY, "create-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(animalDto)))
+                .andExpect(status().isCreated())
+                .andReturn();
+        mockMvc.perform(post(ANIMAL_API_URL_PATH)
+                .header(AnimalIdempotencyFilter.IDEMPOTENCY_KEY, "create-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(animalDto)))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(AnimalIdempotencyFilter.IDEMPOTENT_REPLAYED, "true"))
+                .andExpect(content().string(first.getResponse().getContentAsString()));
+
+        verify(animalService, times(1)).createAnimal(animalDto);
+    }
+
+    @Test
+    void whenErrorResponseIsStoredThenItIsReplayedToo() throws Exception {
+        when(animalService.createAnimal(animalDto)).thenThrow(new AnimalAlreadyExistsException(animalDto.getSpecie()));
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(post(ANIMAL_API_URL_PATH)
+                    .header(AnimalIdempotencyFilter.IDEMPOTENCY_KEY, "create-2")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(asJsonString(animalDto)))
+                    .andExpect(status().isBadRequest());
+        }
+
+        verify(animalService, times(1)).createAnimal(animalDto);
+    }
+
+    @Test
+    void whenDifferentKeysAreSentThenEachRequestIsExecuted() throws Exception {
+        when(animalService.increaseAnimalNumber(animalDto.getId(), 1)).thenReturn(animalDto);
+
+        for (String key : List.of("increment-1", "increment-2")) {
+            mockMvc.perform(patch(ANIMAL_API_URL_PATH + "/" + animalDto.getId() + "/increment")
+                    .header(AnimalIdempotencyFilter.IDEMPOTENCY_KEY, key)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(asJsonString(QuantityDto.builder().quantity(1).build())))
+                    .andExpect(status().isOk());
+        }
+
+        verify(animalService, times(2)).increaseAnimalNumber(animalDto.getId(), 1);
+    }
+
+    @Test
+    void whenKeyIsReusedForAnotherRouteThenUnprocessableEntityIsReturned() throws Exception {
+        when(animalService.increaseAnimalNumber(animalDto.getId(), 1)).thenReturn(animalDto);
+        mockMvc.perform(patch(ANIMAL_API_URL_PATH + "/" + animalDto.getId() + "/increment")
+                .header(AnimalIdempotencyFilter.IDEMPOTENCY_KEY, "quantity-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(QuantityDto.builder().quantity(1).build())))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(patch(ANIMAL_API_URL_PATH + "/" + animalDto.getId() + "/decrement")
+                .header(AnimalIdempotencyFilter.IDEMPOTENCY_KEY, "quantity-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(QuantityDto.builder().quantity(1).build())))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.status", is(422)));
+
+        verifyNoMoreInteractions(animalService);
+    }
+
+    @Test
+    void whenKeyIsReusedWithAnotherBodyThenUnprocessableEntityIsReturned() throws Exception {
+        when(animalService.increaseAnimalNumber(animalDto.getId(), 1)).thenReturn(animalDto);
+        mockMvc.perform(patch(ANIMAL_API_URL_PATH + "/" + animalDto.getId() + "/increment")
+                .header(AnimalIdempotencyFilter.IDEMPOTENCY_KEY, "quantity-2")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(QuantityDto.builder().quantity(1).build())))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(patch(ANIMAL_API_URL_PATH + "/" + animalDto.getId() + "/increment")
+                .header(AnimalIdempotencyFilter.IDEMPOTENCY_KEY, "quantity-2")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(QuantityDto.builder().quantity(5).build())))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.status", is(422)));
+
+        verify(animalService, times(1)).increaseAnimalNumber(animalDto.getId(), 1);
+        verifyNoMoreInteractions(animalService);
+    }
+
+    @Test
+    void whenSameKeyIsSentByAnotherClientThenItIsNotReplayed() throws Exception {
+        when(animalService.increaseAnimalNumber(animalDto.getId(), 1)).thenReturn(animalDto);
+
+        for (String apiKey : List.of("client-a", "client-b")) {
+            mockMvc.perform(patch(ANIMAL_API_URL_PATH + "/" + animalDto.getId() + "/increment")
+                    .header(AnimalIdempotencyFilter.IDEMPOTENCY_KEY, "shared-1")
+                    .header("X-API-Key", apiKey)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(asJsonString(QuantityDto.builder().quantity(1).build())))
+                    .andExpect(status().isOk())
+                    .andExpect(header().doesNotExist(AnimalIdempotencyFilter.IDEMPOTENT_REPLAYED));
+        }
+        mockMvc.perform(patch(ANIMAL_API_URL_PATH + "/" + animalDto.getId() + "/increment")
+                .header(AnimalIdempotencyFilter.IDEMPOTENCY_KEY, "shared-1")
+                .with(request -> {
+                    request.setRemoteAddr("10.0.0.2");
+                    return request;
+                })
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(QuantityDto.builder().quantity(1).build())))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(AnimalIdempotencyFilter.IDEMPOTENT_REPLAYED));
+
+        verify(animalService, times(3)).increaseAnimalNumber(animalDto.getId(), 1);
+    }
+
+    @Test
+    void whenDuplicatesArriveTogetherThenOnlyOneIsExecuted() throws Exception {
+        CountDownLatch executing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(animalService.increaseAnimalNumber(animalDto.getId(), 1)).thenAnswer(invocation -> {
+            executing.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return animalDto;
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Integer>> statuses = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                statuses.add(executor.submit(() -> mockMvc.perform(
+                        patch(ANIMAL_API_URL_PATH + "/" + animalDto.getId() + "/increment")
+                                .header(AnimalIdempotencyFilter.IDEMPOTENCY_KEY, "increment-3")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(asJsonString(QuantityDto.builder().quantity(1).build())))
+                        .andReturn()
+                        .getResponse()
+                        .getStatus()));
+            }
+            executing.await(10, TimeUnit.SECONDS);
+            release.countDown();
+            for (Future<Integer> status : statuses) {
+                assertThat(status.get(), is(200));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        verify(animalService, times(1)).increaseAnimalNumber(animalDto.getId(), 1);
+    }
+}
@@ -0,0 +1,136 @@
+package org.vescm.zooapi.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.util.unit.DataSize;
+import org.vescm.zooapi.builder.AnimalDtoBuilder;
+import org.vescm.zooapi.constants.AnimalConstants;
+import org.vescm.zooapi.dto.AnimalDto;
+import org.vescm.zooapi.exception.AnimalNotFoundException;
+import org.vescm.zooapi.service.AnimalBatchService;
+import org.vescm.zooapi.service.AnimalResponseCache;
+import org.vescm.zooapi.service.AnimalService;
+import org.vescm.zooapi.service.AnimalStatistics;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.emptyString;
+import static org.hamcrest.core.Is.is;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+public class AnimalResponseCacheFilterTests {
+    private static final String ANIMAL_API_URL_PATH = "/api/v1/animals";
+
+    @Mock
+    private AnimalService animalService;
+
+    @Mock
+    private AnimalBatchService animalBatchService;
+
+    @Mock
+    private AnimalChangeStreams animalChangeStreams;
+
+    @Mock
+    private AnimalStatistics animalStatistics;
+
+    private MockMvc mockMvc;
+
+    private final AnimalDto animalDto = AnimalDtoBuilder.builder().build().toAnimalDto();
+
+    @BeforeEach
+    void setUp() {
+        AnimalController animalController = new AnimalController(animalService, animalBatchService,
+                animalChangeStreams, new ObjectMapper());
+        AnimalResponseCache animalResponseCache = new AnimalResponseCache(animalStatistics, new SimpleMeterRegistry(),
+                true, DataSize.ofMegabytes(1));
+        mockMvc = MockMvcBuilders.standaloneSetup(animalController)
+                .setControllerAdvice(new AnimalExceptionHandler())
+                .addFilters(new AnimalResponseCacheFilter(animalResponseCache))
+                .build();
+    }
+
+    @Test
+    void whenNothingChangedThenSecondGETIsServedFromTheCache() throws Exception {
+        when(animalService.getBySpecie(animalDto.getSpecie())).thenReturn(animalDto);
+
+        MvcResult first = mockMvc.perform(get(ANIMAL_API_URL_PATH + "/" + animalDto.getSpecie()))
+                .andExpect(status().isOk())
+                .andReturn();
+        mockMvc.perform(get(ANIMAL_API_URL_PATH + "/" + animalDto.getSpecie()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, first.getResponse().getHeader(HttpHeaders.ETAG)))
+                .andExpect(content().string(first.getResponse().getContentAsString()))
+                .andExpect(jsonPath("$.specie", is(animalDto.getSpecie())));
+
+        verify(animalService, times(1)).getBySpecie(animalDto.getSpecie());
+    }
+
+    @Test
+    void whenIfNoneMatchHasCurrentETagThenNotModifiedIsReturnedWithoutBody() throws Exception {
+        when(animalService.getBySpecie(animalDto.getSpecie())).thenReturn(animalDto);
+        String etag = mockMvc.perform(get(ANIMAL_API_URL_PATH + "/" + animalDto.getSpecie()))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get(ANIMAL_API_URL_PATH + "/" + animalDto.getSpecie())
+                .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(emptyString()));
+    }
+
+    @Test
+    void whenAnimalsChangeThenCachedResponsesAreNotServed() throws Exception {
+        when(animalStatistics.version()).thenReturn(1L, 1L, 2L);
+        when(animalService.listAll(null, AnimalConstants.PAGE_SIZE)).thenReturn(List.of(animalDto));
+
+        mockMvc.perform(get(ANIMAL_API_URL_PATH)).andExpect(status().isOk());
+        mockMvc.perform(get(ANIMAL_API_URL_PATH)).andExpect(status().isOk());
+
+        verify(animalService, times(2)).listAll(null, AnimalConstants.PAGE_SIZE);
+    }
+
+    @Test
+    void whenFullPageIsServedFromTheCacheThenNextLinkIsReplayed() throws Exception {
+        when(animalService.listAll(null, 1)).thenReturn(List.of(animalDto));
+
+        String link = mockMvc.perform(get(ANIMAL_API_URL_PATH + "?size=1"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.LINK);
+        mockMvc.perform(get(ANIMAL_API_URL_PATH + "?size=1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.LINK, link))
+                .andExpect(jsonPath("$[0].specie", is(animalDto.getSpecie())));
+
+        verify(animalService, times(1)).listAll(null, 1);
+    }
+
+    @Test
+    void whenAnimalIsNotFoundThenResponseIsNotCached() throws Exception {
+        when(animalService.getBySpecie("Dodo")).thenThrow(AnimalNotFoundException.ofSpecie("Dodo"));
+
+        mockMvc.perform(get(ANIMAL_API_URL_PATH + "/Dodo")).andExpect(status().isNotFound());
+        mockMvc.perform(get(ANIMAL_API_URL_PATH + "/Dodo")).andExpect(status().isNotFound());
+
+        verify(animalService, times(2)).getBySpecie("Dodo");
+    }
+}
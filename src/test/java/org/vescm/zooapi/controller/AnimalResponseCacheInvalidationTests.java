@@ -0,0 +1,88 @@
+package org.vescm.zooapi.controller;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.vescm.zooapi.builder.AnimalDtoBuilder;
+import org.vescm.zooapi.dto.AnimalDto;
+import org.vescm.zooapi.repository.AnimalRepository;
+import org.vescm.zooapi.service.AnimalService;
+import org.vescm.zooapi.service.AnimalStatistics;
+
+import static org.hamcrest.core.Is.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "zooapi.response-cache.enabled=true")
+@AutoConfigureMockMvc
+public class AnimalResponseCacheInvalidationTests {
+    private static final String ANIMAL_API_URL_PATH = "/api/v1/animals";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AnimalService animalService;
+
+    @Autowired
+    private AnimalStatistics animalStatistics;
+
+    @Autowired
+    private AnimalRepository animalRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private AnimalDto animalDto;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        animalDto = animalService.createAnimal(AnimalDtoBuilder.builder().specie("Pangolin").quantity(3)
+                .build().toAnimalDto());
+        mockMvc.perform(get(ANIMAL_API_URL_PATH))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].quantity", is(3)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        animalRepository.deleteAll();
+    }
+
+    @Test
+    void whenQuantityChangesThroughTheServiceThenCachedListIsNotServed() throws Exception {
+        animalService.increaseAnimalNumber(animalDto.getId(), 2);
+
+        mockMvc.perform(get(ANIMAL_API_URL_PATH))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].quantity", is(5)));
+    }
+
+    @Test
+    void whenReconciliationCorrectsTheTotalsThenCachedListIsNotServed() throws Exception {
+        jdbcTemplate.update("update animal set quantity = 6 where id = ?", animalDto.getId());
+
+        animalStatistics.reconcile();
+
+        mockMvc.perform(get(ANIMAL_API_URL_PATH))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].quantity", is(6)));
+    }
+
+    @Test
+    void whenStatisticsAreReloadedAfterARestoreThenCachedListIsNotServed() throws Exception {
+        jdbcTemplate.update("update animal set quantity = 1 where id = ?", animalDto.getId());
+
+        animalStatistics.load();
+
+        mockMvc.perform(get(ANIMAL_API_URL_PATH))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].quantity", is(1)));
+    }
+}
@@ -0,0 +1,177 @@
+package org.vescm.zooapi.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.vescm.zooapi.builder.AnimalDtoBuilder;
+import org.vescm.zooapi.config.ReactiveConfig;
+import org.vescm.zooapi.constants.AnimalConstants;
+import org.vescm.zooapi.dto.AnimalDto;
+import org.vescm.zooapi.dto.QuantityDto;
+import org.vescm.zooapi.exception.AnimalAlreadyExistsException;
+import org.vescm.zooapi.exception.AnimalLimitExceededException;
+import org.vescm.zooapi.exception.AnimalNotFoundException;
+import org.vescm.zooapi.service.ReactiveAnimalService;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import javax.validation.Validation;
+
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class ReactiveAnimalHandlerTests {
+
+    private static final String ANIMAL_API_URL_PATH = "/api/v2/animals";
+    private static final long VALID_ANIMAL_ID = 1L;
+    private static final long INVALID_ANIMAL_ID = 2L;
+
+    private WebTestClient webTestClient;
+
+    @Mock
+    private ReactiveAnimalService animalService;
+
+    @BeforeEach
+    void setUp() {
+        ReactiveAnimalHandler handler = new ReactiveAnimalHandler(animalService,
+                Validation.buildDefaultValidatorFactory().getValidator());
+        webTestClient = WebTestClient.bindToRouterFunction(new ReactiveConfig().animalRoutes(handler)).build();
+    }
+
+    @Test
+    void whenPOSTIsCalledThenAAnimalIsCreated() {
+        AnimalDto animalDto = AnimalDtoBuilder.builder().build().toAnimalDto();
+
+        when(animalService.createAnimal(animalDto)).thenReturn(Mono.just(animalDto));
+
+        webTestClient.post().uri(ANIMAL_API_URL_PATH)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(animalDto)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.specie").isEqualTo(animalDto.getSpecie());
+    }
+
+    @Test
+    void whenPOSTIsCalledWithoutRequiredFieldThenBadRequestStatusIsReturned() {
+        AnimalDto animalDto = AnimalDtoBuilder.builder().build().toAnimalDto();
+        animalDto.setKingdom(null);
+
+        webTestClient.post().uri(ANIMAL_API_URL_PATH)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(animalDto)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(400);
+        verifyNoInteractions(animalService);
+    }
+
+    @Test
+    void whenPOSTIsCalledWithExistingSpecieThenBadRequestStatusIsReturned() {
+        AnimalDto animalDto = AnimalDtoBuilder.builder().build().toAnimalDto();
+
+        when(animalService.createAnimal(animalDto))
+                .thenReturn(Mono.error(new AnimalAlreadyExistsException(animalDto.getSpecie())));
+
+        webTestClient.post().uri(ANIMAL_API_URL_PATH)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(animalDto)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Animal of specie Dromedary already exists.");
+    }
+
+    @Test
+    void whenGETIsCalledWithUnknownSpecieThenNotFoundStatusIsReturned() {
+        when(animalService.getBySpecie("Unicorn")).thenReturn(Mono.error(AnimalNotFoundException.ofSpecie("Unicorn")));
+
+        webTestClient.get().uri(ANIMAL_API_URL_PATH + "/Unicorn")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(404);
+    }
+
+    @Test
+    void whenGETListIsCalledThenAPageAfterTheCursorIsReturned() {
+        AnimalDto animalDto = AnimalDtoBuilder.builder().id(2L).build().toAnimalDto();
+
+        when(animalService.listAll(VALID_ANIMAL_ID, AnimalConstants.PAGE_SIZE)).thenReturn(Flux.just(animalDto));
+
+        webTestClient.get().uri(ANIMAL_API_URL_PATH + "?after=" + VALID_ANIMAL_ID)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].id").isEqualTo(2);
+    }
+
+    @Test
+    void whenGETListReturnsAFullPageThenNextLinkIsReturned() {
+        AnimalDto animalDto = AnimalDtoBuilder.builder().id(2L).build().toAnimalDto();
+
+        when(animalService.listAll(VALID_ANIMAL_ID, 1)).thenReturn(Flux.just(animalDto));
+
+        webTestClient.get().uri(ANIMAL_API_URL_PATH + "?after=" + VALID_ANIMAL_ID + "&size=1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueMatches(HttpHeaders.LINK,
+                        "<.*" + ANIMAL_API_URL_PATH + "\\?after=2&size=1>; rel=\"next\"")
+                .expectBody()
+                .jsonPath("$[0].id").isEqualTo(2);
+    }
+
+    @Test
+    void whenDELETEIsCalledWithInvalidIdThenNotFoundStatusIsReturned() {
+        when(animalService.deleteById(INVALID_ANIMAL_ID))
+                .thenReturn(Mono.error(AnimalNotFoundException.withId(INVALID_ANIMAL_ID)));
+
+        webTestClient.delete().uri(ANIMAL_API_URL_PATH + "/" + INVALID_ANIMAL_ID)
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void whenDELETEIsCalledWithValidIdThenNoContentStatusIsReturned() {
+        when(animalService.deleteById(VALID_ANIMAL_ID)).thenReturn(Mono.empty());
+
+        webTestClient.delete().uri(ANIMAL_API_URL_PATH + "/" + VALID_ANIMAL_ID)
+                .exchange()
+                .expectStatus().isNoContent();
+    }
+
+    @Test
+    void whenPATCHIncrementIsCalledAboveTheLimitThenBadRequestStatusIsReturned() {
+        when(animalService.increaseAnimalNumber(VALID_ANIMAL_ID, 5))
+                .thenReturn(Mono.error(new AnimalLimitExceededException("Dromedary")));
+
+        webTestClient.patch().uri(ANIMAL_API_URL_PATH + "/" + VALID_ANIMAL_ID + "/increment")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new QuantityDto(5))
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void whenPATCHDecrementIsCalledThenTheUpdatedAnimalIsReturned() {
+        AnimalDto animalDto = AnimalDtoBuilder.builder().quantity(6).build().toAnimalDto();
+
+        when(animalService.decreaseAnimalNumber(VALID_ANIMAL_ID, 1)).thenReturn(Mono.just(animalDto));
+
+        webTestClient.patch().uri(ANIMAL_API_URL_PATH + "/" + VALID_ANIMAL_ID + "/decrement")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new QuantityDto(1))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.quantity").isEqualTo(6);
+    }
+}
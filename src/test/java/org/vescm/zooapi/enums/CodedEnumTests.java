@@ -0,0 +1,41 @@
+package org.vescm.zooapi.enums;
+
+import org.junit.jupiter.api.Test;
+import org.vescm.zooapi.model.converter.KingdomConverter;
+import org.vescm.zooapi.model.converter.PhylumConverter;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class CodedEnumTests {
+    @Test
+    void whenEnumIsConvertedToItsCodeThenItIsReadBackUnchanged() {
+        KingdomConverter kingdomConverter = new KingdomConverter();
+        PhylumConverter phylumConverter = new PhylumConverter();
+
+        for (Kingdom kingdom : Kingdom.values()) {
+            assertThat(kingdomConverter.convertToEntityAttribute(kingdomConverter.convertToDatabaseColumn(kingdom)),
+                    is(kingdom));
+        }
+        for (Phylum phylum : Phylum.values()) {
+            assertThat(phylumConverter.convertToEntityAttribute(phylumConverter.convertToDatabaseColumn(phylum)),
+                    is(phylum));
+        }
+    }
+
+    @Test
+    void whenCodesAreReadThenTheyMatchThePersistedValues() {
+        assertThat(Kingdom.ANIMAL.getCode(), is((short) 1));
+        assertThat(Kingdom.ARCHAEBACTERIA.getCode(), is((short) 6));
+        assertThat(Phylum.CNIDARIA.getCode(), is((short) 1));
+        assertThat(Phylum.CHORDATA.getCode(), is((short) 4));
+        assertThat(Kingdom.PROTISTA.getDisplayName(), is("Protista"));
+    }
+
+    @Test
+    void whenCodeIsUnknownThenAnExceptionShouldBeThrown() {
+        assertThrows(IllegalArgumentException.class, () -> Kingdom.fromCode((short) 0));
+        assertThrows(IllegalArgumentException.class, () -> Phylum.fromCode((short) 42));
+    }
+}
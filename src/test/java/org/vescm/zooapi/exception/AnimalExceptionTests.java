@@ -0,0 +1,26 @@
+package org.vescm.zooapi.exception;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class AnimalExceptionTests {
+    @Test
+    void whenExceptionIsCreatedThenNoStackTraceIsCaptured() {
+        AnimalNotFoundException exception = AnimalNotFoundException.withId(1L);
+
+        assertThat(exception.getStackTrace(), is(emptyArray()));
+    }
+
+    @Test
+    void whenMessageIsReadThenItKeepsTheOriginalFormat() {
+        assertThat(AnimalNotFoundException.withId(1L).getMessage(), is(equalTo("Animal  with id: 1 doesn't exist.")));
+        assertThat(new AnimalNotFoundException(" of specie: Lion").getMessage(),
+                is(equalTo("Animal  of specie: Lion doesn't exist.")));
+        assertThat(new AnimalAlreadyExistsException("Lion").getMessage(),
+                is(equalTo("Animal of specie Lion already exists.")));
+        assertThat(new AnimalLimitExceededException("Lion").getMessage(),
+                is(equalTo("Can't have more animals of specie Lion.")));
+    }
+}
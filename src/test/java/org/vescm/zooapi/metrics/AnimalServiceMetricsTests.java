@@ -0,0 +1,85 @@
+package org.vescm.zooapi.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.vescm.zooapi.builder.AnimalDtoBuilder;
+import org.vescm.zooapi.exception.AnimalNotFoundException;
+import org.vescm.zooapi.repository.AnimalRepository;
+import org.vescm.zooapi.service.AnimalService;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+public class AnimalServiceMetricsTests {
+    @Autowired
+    private AnimalService animalService;
+
+    @Autowired
+    private AnimalRepository animalRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @AfterEach
+    void tearDown() {
+        animalRepository.deleteAll();
+    }
+
+    @Test
+    void whenOperationSucceedsThenItIsTimedWithSuccessOutcome() throws Exception {
+        long before = timerCount("create", "success");
+
+        animalService.createAnimal(AnimalDtoBuilder.builder().specie("Meerkat").build().toAnimalDto());
+
+        assertThat(timerCount("create", "success"), is(equalTo(before + 1)));
+    }
+
+    @Test
+    void whenDomainExceptionIsThrownThenItIsCountedAndTimedWithItsOutcome() {
+        double before = exceptionCount();
+        long timedBefore = timerCount("getBySpecie", "not_found");
+
+        assertThrows(AnimalNotFoundException.class, () -> animalService.getBySpecie("Unicorn"));
+
+        assertThat(exceptionCount(), is(equalTo(before + 1)));
+        assertThat(timerCount("getBySpecie", "not_found"), is(equalTo(timedBefore + 1)));
+    }
+
+    @Test
+    void whenAnimalIsCreatedThenQuantityGaugeIsUpdatedByKingdomAndPhylum() throws Exception {
+        double before = quantityGauge("ANIMAL", "CHORDATA");
+
+        animalService.createAnimal(AnimalDtoBuilder.builder().specie("Lynx").quantity(4).build().toAnimalDto());
+
+        assertThat(quantityGauge("ANIMAL", "CHORDATA"), is(equalTo(before + 4)));
+    }
+
+    private double quantityGauge(String kingdom, String phylum) {
+        return meterRegistry.get("zooapi.animals.quantity")
+                .tag("kingdom", kingdom)
+                .tag("phylum", phylum)
+                .gauge().value();
+    }
+
+    private long timerCount(String operation, String outcome) {
+        Timer timer = meterRegistry.find("zooapi.animals.operations")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+    private double exceptionCount() {
+        Counter counter = meterRegistry.find("zooapi.animals.exceptions")
+                .tag("exception", "AnimalNotFoundException")
+                .counter();
+        return counter == null ? 0 : counter.count();
+    }
+}
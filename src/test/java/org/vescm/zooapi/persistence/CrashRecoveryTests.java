@@ -0,0 +1,144 @@
+package org.vescm.zooapi.persistence;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.vescm.zooapi.ZooapiApplication;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@Tag("crash")
+public class CrashRecoveryTests {
+    private static final int CLIENTS = 8;
+
+    @TempDir
+    Path dataDir;
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+
+    @Test
+    void whenProcessIsKilledUnderLoadThenEveryAcknowledgedAnimalIsRecovered() throws Exception {
+        int port = freePort();
+        Process process = start(port);
+        Queue<String> acknowledged = new ConcurrentLinkedQueue<>();
+        ExecutorService executor = Executors.newFixedThreadPool(CLIENTS);
+        try {
+            awaitStarted(process, port);
+            AtomicBoolean running = new AtomicBoolean(true);
+            AtomicInteger sequence = new AtomicInteger();
+            for (int i = 0; i < CLIENTS; i++) {
+                executor.submit(() -> {
+                    while (running.get()) {
+                        String specie = "Specie " + sequence.incrementAndGet();
+                        try {
+                            if (create(port, specie) == 201) {
+                                acknowledged.add(specie);
+                            }
+                        } catch (IOException ignored) {
+                        }
+                    }
+                    return null;
+                });
+            }
+            TimeUnit.SECONDS.sleep(3);
+            process.destroyForcibly().waitFor(30, TimeUnit.SECONDS);
+            running.set(false);
+        } finally {
+            executor.shutdownNow();
+            executor.awaitTermination(30, TimeUnit.SECONDS);
+            process.destroyForcibly();
+        }
+
+        Set<String> recovered = recoveredSpecies();
+        assertThat(acknowledged, is(not(empty())));
+        assertThat(recovered, hasItems(acknowledged.toArray(new String[0])));
+    }
+
+    private Process start(int port) throws IOException {
+        String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        return new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                ZooapiApplication.class.getName(),
+                "--spring.profiles.active=persistent",
+                "--zooapi.persistence.data-dir=" + dataDir,
+                "--zooapi.persistence.write-delay=0",
+                "--server.port=" + port,
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN")
+                .redirectErrorStream(true)
+                .redirectOutput(dataDir.resolve("application.log").toFile())
+                .start();
+    }
+
+    private void awaitStarted(Process process, int port) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(120);
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Application exited, see " + dataDir.resolve("application.log"));
+            }
+            try {
+                HttpResponse<Void> response = client.send(HttpRequest.newBuilder(
+                        URI.create("http://localhost:" + port + "/actuator/health")).build(),
+                        HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException ignored) {
+            }
+            TimeUnit.MILLISECONDS.sleep(250);
+        }
+        throw new IllegalStateException("Application did not start in time");
+    }
+
+    private int create(int port, String specie) throws IOException, InterruptedException {
+        String body = "{\"specie\":\"" + specie + "\",\"kingdom\":\"ANIMAL\",\"phylum\":\"CHORDATA\",\"quantity\":5}";
+        return client.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/animals"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body))
+                        .build(),
+                HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private Set<String> recoveredSpecies() throws Exception {
+        Set<String> species = new HashSet<>();
+        String url = "jdbc:h2:file:" + dataDir + File.separator + "zooapi";
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("select specie from animal")) {
+            while (resultSet.next()) {
+                species.add(resultSet.getString(1));
+            }
+        }
+        return species;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
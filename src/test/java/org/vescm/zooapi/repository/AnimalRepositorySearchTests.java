@@ -0,0 +1,81 @@
+package org.vescm.zooapi.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.vescm.zooapi.dto.AnimalDto;
+import org.vescm.zooapi.dto.AnimalSearchCriteria;
+import org.vescm.zooapi.enums.Kingdom;
+import org.vescm.zooapi.enums.Phylum;
+import org.vescm.zooapi.model.Animal;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@SpringBootTest
+public class AnimalRepositorySearchTests {
+    @Autowired
+    private AnimalRepository animalRepository;
+
+    @BeforeEach
+    void setUp() {
+        animalRepository.saveAll(Arrays.asList(
+                animal("Red Fox", Kingdom.ANIMAL, Phylum.CHORDATA, 3),
+                animal("Red Panda", Kingdom.ANIMAL, Phylum.CHORDATA, 8),
+                animal("Red_Coral", Kingdom.ANIMAL, Phylum.CNIDARIA, 8),
+                animal("Reindeer", Kingdom.ANIMAL, Phylum.CHORDATA, 9),
+                animal("Red Algae", Kingdom.PROTISTA, Phylum.CHORDATA, 9)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        animalRepository.deleteAll();
+    }
+
+    @Test
+    void whenAllFiltersAreInformedThenOnlyMatchingAnimalsAreReturnedInIdOrder() {
+        List<AnimalDto> animals = animalRepository.search(AnimalSearchCriteria.builder()
+                .specie("Red")
+                .kingdom(Kingdom.ANIMAL)
+                .phylum(Phylum.CHORDATA)
+                .minQuantity(5)
+                .maxQuantity(10)
+                .build(), 0L, 10);
+
+        assertThat(species(animals), contains("Red Panda"));
+    }
+
+    @Test
+    void whenSpeciePrefixHasWildcardsThenTheyAreMatchedLiterally() {
+        List<AnimalDto> animals = animalRepository.search(AnimalSearchCriteria.builder()
+                .specie("Red_")
+                .build(), 0L, 10);
+
+        assertThat(species(animals), contains("Red_Coral"));
+    }
+
+    @Test
+    void whenPageIsFullThenTheNextPageStartsAfterTheLastId() {
+        AnimalSearchCriteria criteria = AnimalSearchCriteria.builder().kingdom(Kingdom.ANIMAL).build();
+
+        List<AnimalDto> firstPage = animalRepository.search(criteria, 0L, 2);
+        List<AnimalDto> secondPage = animalRepository.search(criteria, firstPage.get(1).getId(), 2);
+
+        assertThat(species(firstPage), contains("Red Fox", "Red Panda"));
+        assertThat(species(secondPage), contains("Red_Coral", "Reindeer"));
+    }
+
+    private static List<String> species(List<AnimalDto> animals) {
+        return animals.stream().map(AnimalDto::getSpecie).collect(Collectors.toList());
+    }
+
+    private static Animal animal(String specie, Kingdom kingdom, Phylum phylum, int quantity) {
+        return Animal.builder().specie(specie).kingdom(kingdom).phylum(phylum).quantity(quantity).build();
+    }
+}
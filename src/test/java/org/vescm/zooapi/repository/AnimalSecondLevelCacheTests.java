@@ -0,0 +1,90 @@
+package org.vescm.zooapi.repository;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.vescm.zooapi.constants.AnimalConstants;
+import org.vescm.zooapi.enums.Kingdom;
+import org.vescm.zooapi.enums.Phylum;
+import org.vescm.zooapi.model.Animal;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@SpringBootTest
+@ActiveProfiles("high-throughput")
+public class AnimalSecondLevelCacheTests {
+    @Autowired
+    private AnimalRepository animalRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Statistics statistics;
+
+    private Animal animal;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        animal = animalRepository.save(Animal.builder()
+                .specie("Axolotl")
+                .kingdom(Kingdom.ANIMAL)
+                .phylum(Phylum.CHORDATA)
+                .quantity(3)
+                .build());
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        animalRepository.deleteAll();
+    }
+
+    @Test
+    void whenAnimalIsLoadedAgainThenItComesFromTheSecondLevelCache() {
+        animalRepository.findById(animal.getId());
+        long hits = statistics.getSecondLevelCacheHitCount();
+
+        animalRepository.findById(animal.getId());
+
+        assertThat(statistics.getSecondLevelCacheHitCount(), is(greaterThan(hits)));
+    }
+
+    @Test
+    void whenQuantityIsChangedThroughJdbcThenCachedAnimalIsEvicted() {
+        animalRepository.findById(animal.getId());
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> animalRepository.addQuantities(
+                new long[]{animal.getId()}, new int[]{2}, AnimalConstants.MIN, AnimalConstants.MAX));
+
+        assertThat(entityManagerFactory.getCache().contains(Animal.class, animal.getId()), is(false));
+        assertThat(animalRepository.findById(animal.getId()).orElseThrow().getQuantity(), is(equalTo(5)));
+    }
+
+    @Test
+    void whenQuantityIsChangedThroughJdbcThenAnimalIsEvictedBeforeTheTransactionCommits() {
+        animalRepository.findById(animal.getId());
+
+        Boolean cachedBeforeCommit = new TransactionTemplate(transactionManager).execute(status -> {
+            animalRepository.addQuantities(new long[]{animal.getId()}, new int[]{2},
+                    AnimalConstants.MIN, AnimalConstants.MAX);
+            return entityManagerFactory.getCache().contains(Animal.class, animal.getId());
+        });
+
+        assertThat(cachedBeforeCommit, is(false));
+        assertThat(entityManagerFactory.getCache().contains(Animal.class, animal.getId()), is(false));
+    }
+}
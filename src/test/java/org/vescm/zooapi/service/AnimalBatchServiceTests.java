@@ -0,0 +1,150 @@
+package org.vescm.zooapi.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.vescm.zooapi.builder.AnimalDtoBuilder;
+import org.vescm.zooapi.constants.AnimalConstants;
+import org.vescm.zooapi.dto.AnimalDto;
+import org.vescm.zooapi.dto.AnimalQuantityDto;
+import org.vescm.zooapi.dto.BatchItemResultDto;
+import org.vescm.zooapi.exception.AnimalBatchTooLargeException;
+import org.vescm.zooapi.mapper.AnimalMapper;
+import org.vescm.zooapi.model.Animal;
+import org.vescm.zooapi.repository.AnimalRepository;
+
+import javax.validation.Validation;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class AnimalBatchServiceTests {
+    @Mock
+    private AnimalRepository animalRepository;
+
+    @Mock
+    private AnimalService animalService;
+
+    @Mock
+    private AnimalQuantityCounters animalQuantityCounters;
+
+    @Mock
+    private AnimalQuantityStripes animalQuantityStripes;
+
+    @Mock
+    private AnimalStatistics animalStatistics;
+
+    @Mock
+    private AnimalChanges animalChanges;
+
+    @Mock
+    private AnimalSnapshots animalSnapshots;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private AnimalBatchService animalBatchService;
+
+    private final AnimalMapper animalMapper = AnimalMapper.INSTANCE;
+
+    @BeforeEach
+    void setUp() {
+        animalBatchService = new AnimalBatchService(animalRepository, animalService, animalQuantityCounters,
+                animalQuantityStripes, new AnimalLimits(AnimalConstants.MIN, AnimalConstants.MAX),
+                new AnimalCache(new SimpleMeterRegistry(), true, 100, Duration.ofMinutes(1)),
+                animalStatistics, animalChanges, animalSnapshots, Validation.buildDefaultValidatorFactory().getValidator(),
+                transactionManager);
+    }
+
+    @Test
+    void whenBatchOfAnimalsIsInformedThenEachItemReportsItsOutcome() throws AnimalBatchTooLargeException {
+        // given
+        AnimalDto newAnimalDto = AnimalDtoBuilder.builder().specie("Tapir").build().toAnimalDto();
+        AnimalDto existingAnimalDto = AnimalDtoBuilder.builder().specie("Dromedary").build().toAnimalDto();
+        AnimalDto invalidAnimalDto = AnimalDtoBuilder.builder().specie("Ibex").kingdom(null).build().toAnimalDto();
+        Animal savedAnimal = animalMapper.toModel(newAnimalDto);
+
+        // when
+        when(animalRepository.findBySpecieIn(Set.of("Tapir", "Dromedary")))
+                .thenReturn(Collections.singletonList(animalMapper.toModel(existingAnimalDto)));
+        when(animalRepository.saveAll(anyList())).thenReturn(Collections.singletonList(savedAnimal));
+
+        // then
+        List<BatchItemResultDto> results = animalBatchService.createAnimals(
+                Arrays.asList(newAnimalDto, existingAnimalDto, invalidAnimalDto, newAnimalDto));
+
+        assertThat(results.get(0).getStatus(), is(equalTo(201)));
+        assertThat(results.get(0).getAnimal(), is(equalTo(newAnimalDto)));
+        assertThat(results.get(1).getStatus(), is(equalTo(400)));
+        assertThat(results.get(2).getStatus(), is(equalTo(400)));
+        assertThat(results.get(2).getError(), containsString("kingdom"));
+        assertThat(results.get(3).getStatus(), is(equalTo(400)));
+        verify(animalRepository, times(1)).flush();
+    }
+
+    @Test
+    void whenBatchOfIncrementsIsInformedThenEachItemReportsItsOutcome() throws AnimalBatchTooLargeException {
+        // given
+        Animal incrementedAnimal = animalMapper.toModel(AnimalDtoBuilder.builder().id(1L).quantity(9).build().toAnimalDto());
+        Animal fullAnimal = animalMapper.toModel(AnimalDtoBuilder.builder().id(2L).specie("Tapir").quantity(10).build().toAnimalDto());
+        List<AnimalQuantityDto> quantities = Arrays.asList(
+                new AnimalQuantityDto(1L, 2),
+                new AnimalQuantityDto(2L, 1),
+                new AnimalQuantityDto(3L, 1));
+
+        // when
+        when(animalRepository.addQuantities(new long[]{1L, 2L, 3L}, new int[]{2, 1, 1}, AnimalConstants.MIN, AnimalConstants.MAX))
+                .thenReturn(new int[]{1, 0, 0});
+        when(animalRepository.findAllById(Arrays.asList(1L, 2L, 3L))).thenReturn(Arrays.asList(incrementedAnimal, fullAnimal));
+
+        // then
+        List<BatchItemResultDto> results = animalBatchService.increaseAnimalNumbers(quantities);
+
+        assertThat(results.get(0).getStatus(), is(equalTo(200)));
+        assertThat(results.get(0).getAnimal().getQuantity(), is(equalTo(9)));
+        assertThat(results.get(1).getStatus(), is(equalTo(400)));
+        assertThat(results.get(2).getStatus(), is(equalTo(404)));
+    }
+
+    @Test
+    void whenBatchOfDecrementsHasInvalidQuantityThenOnlyThatItemFails() throws Exception {
+        // given
+        AnimalDto decrementedAnimalDto = AnimalDtoBuilder.builder().quantity(6).build().toAnimalDto();
+        List<AnimalQuantityDto> quantities = Arrays.asList(
+                new AnimalQuantityDto(1L, 1),
+                new AnimalQuantityDto(1L, 0));
+
+        // when
+        when(animalQuantityCounters.isEnabled()).thenReturn(true);
+        when(animalService.decreaseAnimalNumber(1L, 1)).thenReturn(decrementedAnimalDto);
+
+        // then
+        List<BatchItemResultDto> results = animalBatchService.decreaseAnimalNumbers(quantities);
+
+        assertThat(results.get(0).getStatus(), is(equalTo(200)));
+        assertThat(results.get(1).getStatus(), is(equalTo(400)));
+        verify(animalRepository, never()).addQuantities(any(), any(), anyInt(), anyInt());
+    }
+
+    @Test
+    void whenBatchIsTooLargeThenThrowException() {
+        List<AnimalQuantityDto> quantities = Collections.nCopies(AnimalConstants.MAX_BATCH_SIZE + 1,
+                new AnimalQuantityDto(1L, 1));
+
+        assertThrows(AnimalBatchTooLargeException.class, () -> animalBatchService.increaseAnimalNumbers(quantities));
+    }
+}
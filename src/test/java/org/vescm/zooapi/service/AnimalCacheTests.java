@@ -0,0 +1,72 @@
+package org.vescm.zooapi.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.vescm.zooapi.builder.AnimalDtoBuilder;
+import org.vescm.zooapi.dto.AnimalDto;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class AnimalCacheTests {
+    private MeterRegistry meterRegistry;
+
+    private AnimalCache animalCache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        animalCache = new AnimalCache(meterRegistry, true, 100, Duration.ofMinutes(1));
+    }
+
+    @Test
+    void whenAnimalIsReadTwiceThenItIsLoadedOnce() {
+        AnimalDto animalDto = AnimalDtoBuilder.builder().build().toAnimalDto();
+        AtomicInteger loads = new AtomicInteger();
+
+        animalCache.getBySpecie(animalDto.getSpecie(), specie -> {
+            loads.incrementAndGet();
+            return animalDto;
+        });
+        AnimalDto cachedAnimalDto = animalCache.getBySpecie(animalDto.getSpecie(), specie -> {
+            loads.incrementAndGet();
+            return animalDto;
+        });
+
+        assertThat(cachedAnimalDto, is(equalTo(animalDto)));
+        assertThat(loads.get(), is(equalTo(1)));
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "animals.by-specie").tag("result", "hit")
+                .functionCounter().count(), is(equalTo(1.0)));
+    }
+
+    @Test
+    void whenAnimalIsEvictedThenBothKeysAreReloaded() {
+        AnimalDto animalDto = AnimalDtoBuilder.builder().build().toAnimalDto();
+        AtomicInteger loads = new AtomicInteger();
+
+        animalCache.getById(animalDto.getId(), id -> animalDto);
+        animalCache.getBySpecie(animalDto.getSpecie(), specie -> animalDto);
+        animalCache.evict(animalDto);
+        animalCache.getById(animalDto.getId(), id -> {
+            loads.incrementAndGet();
+            return animalDto;
+        });
+
+        assertThat(loads.get(), is(equalTo(1)));
+        assertThat(animalCache.containsSpecie(animalDto.getSpecie()), is(false));
+    }
+
+    @Test
+    void whenAnimalIsMissingThenNothingIsCached() {
+        AnimalDto animalDto = AnimalDtoBuilder.builder().build().toAnimalDto();
+
+        animalCache.getBySpecie(animalDto.getSpecie(), specie -> null);
+
+        assertThat(animalCache.containsSpecie(animalDto.getSpecie()), is(false));
+    }
+}
@@ -0,0 +1,52 @@
+package org.vescm.zooapi.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.vescm.zooapi.enums.RequestBudget;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class AnimalConcurrencyLimiterTests {
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long SLOW = TimeUnit.SECONDS.toNanos(1);
+
+    private final AnimalConcurrencyLimiter animalConcurrencyLimiter = new AnimalConcurrencyLimiter(
+            new SimpleMeterRegistry(), true, 2, 8, 0.5, 4, Duration.ofMillis(50), 4, Duration.ofMillis(50));
+
+    @Test
+    void whenLimitIsReachedThenFurtherRequestsAreRejected() {
+        for (int i = 0; i < 4; i++) {
+            assertThat(animalConcurrencyLimiter.tryAcquire(RequestBudget.WRITE), is(true));
+        }
+
+        assertThat(animalConcurrencyLimiter.tryAcquire(RequestBudget.WRITE), is(false));
+        assertThat(animalConcurrencyLimiter.tryAcquire(RequestBudget.READ), is(true));
+    }
+
+    @Test
+    void whenSaturatedRequestsAreFastThenLimitGrowsUpToMax() {
+        for (int i = 0; i < 10; i++) {
+            for (int j = 0; j < animalConcurrencyLimiter.getLimit(RequestBudget.READ); j++) {
+                animalConcurrencyLimiter.tryAcquire(RequestBudget.READ);
+            }
+            animalConcurrencyLimiter.release(RequestBudget.READ, FAST, false);
+        }
+
+        assertThat(animalConcurrencyLimiter.getLimit(RequestBudget.READ), is(equalTo(8)));
+    }
+
+    @Test
+    void whenRequestsAreSlowOrFailThenLimitBacksOffToMin() {
+        animalConcurrencyLimiter.tryAcquire(RequestBudget.WRITE);
+        animalConcurrencyLimiter.release(RequestBudget.WRITE, SLOW, false);
+        assertThat(animalConcurrencyLimiter.getLimit(RequestBudget.WRITE), is(equalTo(2)));
+
+        animalConcurrencyLimiter.tryAcquire(RequestBudget.WRITE);
+        animalConcurrencyLimiter.release(RequestBudget.WRITE, FAST, true);
+        assertThat(animalConcurrencyLimiter.getLimit(RequestBudget.WRITE), is(equalTo(2)));
+    }
+}
@@ -0,0 +1,110 @@
+package org.vescm.zooapi.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.vescm.zooapi.builder.AnimalDtoBuilder;
+import org.vescm.zooapi.constants.AnimalConstants;
+import org.vescm.zooapi.dto.AnimalDto;
+import org.vescm.zooapi.exception.AnimalLimitExceededException;
+import org.vescm.zooapi.exception.AnimalNotFoundException;
+import org.vescm.zooapi.exception.AnimalNumberAlreadyZeroException;
+import org.vescm.zooapi.mapper.AnimalMapper;
+import org.vescm.zooapi.model.Animal;
+import org.vescm.zooapi.repository.AnimalRepository;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class AnimalQuantityCountersTests {
+    @Mock
+    private AnimalRepository animalRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private AnimalQuantityCounters animalQuantityCounters;
+
+    private final AnimalMapper animalMapper = AnimalMapper.INSTANCE;
+
+    @BeforeEach
+    void setUp() {
+        animalQuantityCounters = new AnimalQuantityCounters(animalRepository, transactionManager,
+                new AnimalLimits(AnimalConstants.MIN, AnimalConstants.MAX), true);
+    }
+
+    @Test
+    void whenIncrementIsCalledThenAnimalIsLoadedOnlyOnce() throws Exception {
+        AnimalDto animalDto = AnimalDtoBuilder.builder().build().toAnimalDto();
+        Animal animal = animalMapper.toModel(animalDto);
+        AnimalQuantityCounters.AnimalLoader loader = mock(AnimalQuantityCounters.AnimalLoader.class);
+        when(loader.load(animalDto.getId())).thenReturn(animal);
+
+        animalQuantityCounters.increase(animalDto.getId(), 1, loader);
+        AnimalDto incrementedAnimalDto = animalQuantityCounters.increase(animalDto.getId(), 1, loader);
+
+        assertThat(incrementedAnimalDto.getQuantity(), is(equalTo(animalDto.getQuantity() + 2)));
+        verify(loader, times(1)).load(animalDto.getId());
+        verifyNoInteractions(animalRepository);
+    }
+
+    @Test
+    void whenIncrementIsGreaterThanMaxThenThrowException() {
+        AnimalDto animalDto = AnimalDtoBuilder.builder().build().toAnimalDto();
+        Animal animal = animalMapper.toModel(animalDto);
+
+        int quantityToIncrement = AnimalConstants.MAX - animalDto.getQuantity() + 1;
+        assertThrows(AnimalLimitExceededException.class,
+                () -> animalQuantityCounters.increase(animalDto.getId(), quantityToIncrement, id -> animal));
+    }
+
+    @Test
+    void whenDecrementIsLowerThanMinThenThrowException() {
+        AnimalDto animalDto = AnimalDtoBuilder.builder().build().toAnimalDto();
+        Animal animal = animalMapper.toModel(animalDto);
+
+        int quantityToDecrement = animalDto.getQuantity() - AnimalConstants.MIN + 1;
+        assertThrows(AnimalNumberAlreadyZeroException.class,
+                () -> animalQuantityCounters.decrease(animalDto.getId(), quantityToDecrement, id -> animal));
+    }
+
+    @Test
+    void whenAnimalDoesNotExistThenThrowException() {
+        assertThrows(AnimalNotFoundException.class, () -> animalQuantityCounters.increase(1L, 1, id -> {
+            throw AnimalNotFoundException.withId(id);
+        }));
+    }
+
+    @Test
+    void whenFlushIsCalledThenPendingDeltasAreWrittenOnce() throws Exception {
+        AnimalDto animalDto = AnimalDtoBuilder.builder().build().toAnimalDto();
+        Animal animal = animalMapper.toModel(animalDto);
+
+        animalQuantityCounters.increase(animalDto.getId(), 2, id -> animal);
+        animalQuantityCounters.decrease(animalDto.getId(), 1, id -> animal);
+        animalQuantityCounters.flush();
+        animalQuantityCounters.flush();
+
+        verify(animalRepository, times(1)).addQuantity(animalDto.getId(), 1);
+        verify(animalRepository, times(1)).addQuantity(anyLong(), anyInt());
+    }
+
+    @Test
+    void whenMergeIsCalledThenPendingQuantityIsReturned() throws Exception {
+        AnimalDto animalDto = AnimalDtoBuilder.builder().build().toAnimalDto();
+        Animal animal = animalMapper.toModel(animalDto);
+
+        animalQuantityCounters.increase(animalDto.getId(), 1, id -> animal);
+
+        assertThat(animalQuantityCounters.merge(animalDto).getQuantity(), is(equalTo(animalDto.getQuantity() + 1)));
+        assertThat(animalDto.getQuantity(), is(equalTo(7)));
+    }
+}
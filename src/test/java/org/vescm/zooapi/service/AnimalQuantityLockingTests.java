@@ -0,0 +1,99 @@
+package org.vescm.zooapi.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.vescm.zooapi.builder.AnimalDtoBuilder;
+import org.vescm.zooapi.dto.AnimalDto;
+import org.vescm.zooapi.model.Animal;
+import org.vescm.zooapi.repository.AnimalRepository;
+import org.vescm.zooapi.utils.ConcurrencyTestUtils.QuantityChange;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.vescm.zooapi.utils.ConcurrencyTestUtils.increaseAndDecreaseConcurrently;
+
+@SpringBootTest(properties = {
+        "zooapi.quantity.strategy=optimistic",
+        "zooapi.quantity.retry.max-attempts=3",
+        "zooapi.quantity.retry.backoff=1ms",
+        "zooapi.quantity.retry.max-backoff=2ms"
+})
+public class AnimalQuantityLockingTests {
+    private static final int THREADS = 16;
+    private static final int OPERATIONS = 1000;
+
+    @Autowired
+    private AnimalService animalService;
+
+    @Autowired
+    private AnimalRepository animalRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @AfterEach
+    void tearDown() {
+        animalRepository.deleteAll();
+    }
+
+    @Test
+    void whenAnimalQuantityChangesThenItsVersionIsIncremented() throws Exception {
+        AnimalDto animalDto = animalService.createAnimal(AnimalDtoBuilder.builder()
+                .specie("Tapir")
+                .quantity(5)
+                .build()
+                .toAnimalDto());
+        long version = animalRepository.findById(animalDto.getId()).orElseThrow().getVersion();
+
+        AnimalDto increasedAnimal = animalService.increaseAnimalNumber(animalDto.getId(), 2);
+
+        Animal animal = animalRepository.findById(animalDto.getId()).orElseThrow();
+        assertThat(increasedAnimal.getQuantity(), is(equalTo(7)));
+        assertThat(animal.getQuantity(), is(equalTo(7)));
+        assertThat(animal.getVersion(), is(equalTo(version + 1)));
+    }
+
+    @Test
+    void whenManyThreadsUpdateTheSameAnimalThenNoUpdateIsLostAndConflictsAreCounted() throws Exception {
+        AnimalDto animalDto = animalService.createAnimal(AnimalDtoBuilder.builder()
+                .specie("Pangolin")
+                .quantity(5)
+                .build()
+                .toAnimalDto());
+        double conflictsBefore = count("zooapi.animals.quantity.conflicts");
+        double retriesBefore = count("zooapi.animals.quantity.retries");
+        double exhaustedBefore = count("zooapi.animals.quantity.retries.exhausted");
+        AtomicInteger rejected = new AtomicInteger();
+
+        int netChange = increaseAndDecreaseConcurrently(THREADS, OPERATIONS,
+                () -> rejectingConflicts(() -> animalService.increaseAnimalNumber(animalDto.getId(), 1), rejected),
+                () -> rejectingConflicts(() -> animalService.decreaseAnimalNumber(animalDto.getId(), 1), rejected));
+
+        double conflicts = count("zooapi.animals.quantity.conflicts") - conflictsBefore;
+        double retries = count("zooapi.animals.quantity.retries") - retriesBefore;
+        double exhausted = count("zooapi.animals.quantity.retries.exhausted") - exhaustedBefore;
+        assertThat(animalService.getById(animalDto.getId()).getQuantity(),
+                is(equalTo(animalDto.getQuantity() + netChange)));
+        assertThat(exhausted, is(equalTo((double) rejected.get())));
+        assertThat(conflicts, is(equalTo(retries + exhausted)));
+    }
+
+    private static AnimalDto rejectingConflicts(QuantityChange change, AtomicInteger rejected) throws Exception {
+        try {
+            return change.apply();
+        } catch (ConcurrencyFailureException e) {
+            rejected.incrementAndGet();
+            return null;
+        }
+    }
+
+    private double count(String name) {
+        return meterRegistry.get(name).tag("strategy", "optimistic").counter().count();
+    }
+}
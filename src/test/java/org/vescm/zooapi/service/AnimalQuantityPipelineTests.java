@@ -0,0 +1,259 @@
+package org.vescm.zooapi.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.vescm.zooapi.builder.AnimalDtoBuilder;
+import org.vescm.zooapi.constants.AnimalConstants;
+import org.vescm.zooapi.dto.AnimalDto;
+import org.vescm.zooapi.exception.AnimalException;
+import org.vescm.zooapi.exception.AnimalLimitExceededException;
+import org.vescm.zooapi.exception.AnimalNotFoundException;
+import org.vescm.zooapi.exception.AnimalNumberAlreadyZeroException;
+import org.vescm.zooapi.repository.AnimalRepository;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.verify;
+import static org.vescm.zooapi.utils.ConcurrencyTestUtils.increaseAndDecreaseConcurrently;
+import static org.vescm.zooapi.utils.ConcurrencyTestUtils.increaseConcurrently;
+import static org.vescm.zooapi.utils.ConcurrencyTestUtils.runConcurrently;
+
+@SpringBootTest(properties = {
+        "zooapi.group-commit.enabled=true",
+        "zooapi.group-commit.window=2ms",
+        "zooapi.group-commit.max-batch-size=64"
+})
+public class AnimalQuantityPipelineTests {
+    private static final int THREADS = 100;
+    private static final int OPERATIONS = 1000;
+
+    @Autowired
+    private AnimalQuantityPipeline animalQuantityPipeline;
+
+    @Autowired
+    private AnimalService animalService;
+
+    @Autowired
+    private AnimalRepository animalRepository;
+
+    @Autowired
+    private AnimalCache animalCache;
+
+    @Autowired
+    private AnimalStatistics animalStatistics;
+
+    @Autowired
+    private AnimalSnapshots animalSnapshots;
+
+    @Autowired
+    private AnimalQuantityCounters animalQuantityCounters;
+
+    @Autowired
+    private AnimalQuantityStripes animalQuantityStripes;
+
+    @Autowired
+    private AnimalQuantityLocking animalQuantityLocking;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private AnimalLimits animalLimits;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @MockBean
+    private AnimalChanges animalChanges;
+
+    @AfterEach
+    void tearDown() {
+        animalRepository.deleteAll();
+    }
+
+    @Test
+    void whenManyThreadsIncrementTheSameAnimalThenEachCallerSeesItsOwnQuantity() throws Exception {
+        AnimalDto animalDto = animalService.createAnimal(AnimalDtoBuilder.builder()
+                .specie("Capybara")
+                .quantity(AnimalConstants.MIN)
+                .build()
+                .toAnimalDto());
+        Set<Integer> acknowledged = ConcurrentHashMap.newKeySet();
+        AtomicInteger rejected = new AtomicInteger();
+
+        runConcurrently(THREADS, OPERATIONS, () -> {
+            try {
+                acknowledged.add(animalQuantityPipeline.increase(animalDto.getId(), 1).getQuantity());
+            } catch (AnimalLimitExceededException e) {
+                rejected.incrementAndGet();
+            }
+            return null;
+        });
+
+        int applied = AnimalConstants.MAX - AnimalConstants.MIN;
+        assertThat(acknowledged.size(), is(equalTo(applied)));
+        assertThat(rejected.get(), is(equalTo(OPERATIONS - applied)));
+        assertThat(animalService.getById(animalDto.getId()).getQuantity(), is(equalTo(AnimalConstants.MAX)));
+    }
+
+    @Test
+    void whenManyThreadsIncrementAndDecrementThenNoUpdateIsLost() throws Exception {
+        AnimalDto animalDto = animalService.createAnimal(AnimalDtoBuilder.builder()
+                .specie("Quokka")
+                .quantity(5)
+                .build()
+                .toAnimalDto());
+
+        int netChange = increaseAndDecreaseConcurrently(THREADS, OPERATIONS,
+                () -> animalQuantityPipeline.increase(animalDto.getId(), 1),
+                () -> animalQuantityPipeline.decrease(animalDto.getId(), 1));
+
+        assertThat(animalService.getById(animalDto.getId()).getQuantity(),
+                is(equalTo(animalDto.getQuantity() + netChange)));
+    }
+
+    @Test
+    void whenIncrementsAreCommittedTogetherThenChangesAreRecordedInArrivalOrder() throws Exception {
+        AnimalDto animalDto = animalService.createAnimal(AnimalDtoBuilder.builder()
+                .specie("Tapir")
+                .quantity(AnimalConstants.MIN)
+                .build()
+                .toAnimalDto());
+
+        increaseConcurrently(THREADS, OPERATIONS, () -> animalQuantityPipeline.increase(animalDto.getId(), 1));
+
+        ArgumentCaptor<AnimalDto> changed = ArgumentCaptor.forClass(AnimalDto.class);
+        verify(animalChanges, atLeastOnce()).quantityChanged(changed.capture(), anyInt());
+        List<Integer> quantities = changed.getAllValues().stream()
+                .filter(animal -> animal.getId().equals(animalDto.getId()))
+                .map(AnimalDto::getQuantity)
+                .collect(Collectors.toList());
+        List<Integer> expected = new ArrayList<>();
+        for (int quantity = AnimalConstants.MIN + 1; quantity <= AnimalConstants.MAX; quantity++) {
+            expected.add(quantity);
+        }
+        assertThat(quantities, is(equalTo(expected)));
+    }
+
+    @Test
+    void whenAnimalDoesNotExistThenNotFoundExceptionIsThrown() {
+        assertThrows(AnimalNotFoundException.class, () -> animalQuantityPipeline.increase(Long.MAX_VALUE, 1));
+    }
+
+    @Test
+    void whenAnimalIsAtZeroThenDecreaseIsRejected() throws Exception {
+        AnimalDto animalDto = animalService.createAnimal(AnimalDtoBuilder.builder()
+                .specie("Okapi")
+                .quantity(AnimalConstants.MIN)
+                .build()
+                .toAnimalDto());
+
+        assertThrows(AnimalNumberAlreadyZeroException.class,
+                () -> animalQuantityPipeline.decrease(animalDto.getId(), 1));
+    }
+
+    @Test
+    void whenChangesGoThroughTheServiceThenTheyAreTimedAndCommittedByThePipeline() throws Exception {
+        AnimalDto animalDto = animalService.createAnimal(AnimalDtoBuilder.builder()
+                .specie("Pangolin")
+                .quantity(AnimalConstants.MIN)
+                .build()
+                .toAnimalDto());
+        long increases = increases();
+        long batches = meterRegistry.get("zooapi.animals.group-commit.batch.size").summary().count();
+
+        assertThat(animalService.increaseAnimalNumber(animalDto.getId(), 1).getQuantity(),
+                is(equalTo(AnimalConstants.MIN + 1)));
+
+        assertThat(increases(), is(equalTo(increases + 1)));
+        assertThat(meterRegistry.get("zooapi.animals.group-commit.batch.size").summary().count(),
+                is(equalTo(batches + 1)));
+    }
+
+    @Test
+    void whenALockingStrategyIsConfiguredThenThePipelineIsDisabled() {
+        AnimalQuantityLocking optimistic = new AnimalQuantityLocking(animalRepository, animalCache,
+                animalQuantityCounters, animalQuantityStripes, transactionManager, animalLimits, meterRegistry,
+                "optimistic", 5, Duration.ofMillis(5), Duration.ofMillis(100));
+
+        assertThat(newPipeline(optimistic).isEnabled(), is(false));
+    }
+
+    @Test
+    void whenThePipelineStopsWhileChangesAreSubmittedThenEveryCallerGetsAnAnswer() throws Exception {
+        AnimalDto animalDto = animalService.createAnimal(AnimalDtoBuilder.builder()
+                .specie("Wombat")
+                .quantity(5)
+                .build()
+                .toAnimalDto());
+        AnimalQuantityPipeline pipeline = newPipeline(animalQuantityLocking);
+        pipeline.start();
+        CountDownLatch submitting = new CountDownLatch(THREADS);
+        AtomicInteger timedOut = new AtomicInteger();
+        List<Thread> threads = new ArrayList<>();
+        for (int thread = 0; thread < THREADS; thread++) {
+            int delta = thread % 2 == 0 ? 1 : -1;
+            threads.add(new Thread(() -> {
+                submitting.countDown();
+                while (true) {
+                    try {
+                        if (delta > 0) {
+                            pipeline.increase(animalDto.getId(), 1);
+                        } else {
+                            pipeline.decrease(animalDto.getId(), 1);
+                        }
+                    } catch (AnimalException e) {
+                        continue;
+                    } catch (IllegalStateException e) {
+                        if (e.getCause() instanceof TimeoutException) {
+                            timedOut.incrementAndGet();
+                        }
+                        return;
+                    }
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        submitting.await();
+
+        pipeline.stop();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertThat(timedOut.get(), is(equalTo(0)));
+    }
+
+    private long increases() {
+        Timer timer = meterRegistry.find("zooapi.animals.operations")
+                .tags("operation", "increase", "outcome", "success")
+                .timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+    private AnimalQuantityPipeline newPipeline(AnimalQuantityLocking locking) {
+        return new AnimalQuantityPipeline(animalRepository, animalCache, animalStatistics, animalChanges,
+                animalSnapshots, animalQuantityCounters, animalQuantityStripes, locking, transactionManager,
+                animalLimits, meterRegistry, true, Duration.ofMillis(2), 64, Duration.ofSeconds(5));
+    }
+}
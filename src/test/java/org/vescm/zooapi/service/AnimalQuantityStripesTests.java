@@ -0,0 +1,88 @@
+package org.vescm.zooapi.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.vescm.zooapi.builder.AnimalDtoBuilder;
+import org.vescm.zooapi.constants.AnimalConstants;
+import org.vescm.zooapi.dto.AnimalDto;
+import org.vescm.zooapi.repository.AnimalRepository;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.vescm.zooapi.utils.ConcurrencyTestUtils.increaseAndDecreaseConcurrently;
+import static org.vescm.zooapi.utils.ConcurrencyTestUtils.increaseConcurrently;
+
+@SpringBootTest(properties = {
+        "zooapi.stripes.count=4",
+        "zooapi.stripes.fold-interval=3600000"
+})
+public class AnimalQuantityStripesTests {
+    private static final int THREADS = 100;
+    private static final int OPERATIONS = 1000;
+
+    @Autowired
+    private AnimalService animalService;
+
+    @Autowired
+    private AnimalQuantityStripes animalQuantityStripes;
+
+    @Autowired
+    private AnimalRepository animalRepository;
+
+    @AfterEach
+    void tearDown() {
+        animalRepository.deleteAll();
+    }
+
+    @Test
+    void whenManyThreadsIncrementTheSameAnimalThenMaxIsEnforcedAcrossStripes() throws Exception {
+        AnimalDto animalDto = animalService.createAnimal(AnimalDtoBuilder.builder()
+                .specie("Capybara")
+                .quantity(AnimalConstants.MIN)
+                .build()
+                .toAnimalDto());
+
+        int applied = increaseConcurrently(THREADS, OPERATIONS,
+                () -> animalService.increaseAnimalNumber(animalDto.getId(), 1));
+
+        assertThat(applied, is(equalTo(AnimalConstants.MAX - AnimalConstants.MIN)));
+        assertThat(animalService.getById(animalDto.getId()).getQuantity(), is(equalTo(AnimalConstants.MAX)));
+    }
+
+    @Test
+    void whenManyThreadsIncrementAndDecrementThenReadsSumTheStripes() throws Exception {
+        AnimalDto animalDto = animalService.createAnimal(AnimalDtoBuilder.builder()
+                .specie("Quokka")
+                .quantity(5)
+                .build()
+                .toAnimalDto());
+
+        int netChange = increaseAndDecreaseConcurrently(THREADS, OPERATIONS,
+                () -> animalService.increaseAnimalNumber(animalDto.getId(), 1),
+                () -> animalService.decreaseAnimalNumber(animalDto.getId(), 1));
+
+        int expected = animalDto.getQuantity() + netChange;
+        assertThat(animalService.getById(animalDto.getId()).getQuantity(), is(equalTo(expected)));
+        assertThat(animalService.getBySpecie(animalDto.getSpecie()).getQuantity(), is(equalTo(expected)));
+        assertThat(animalService.listAll(null, 10).get(0).getQuantity(), is(equalTo(expected)));
+    }
+
+    @Test
+    void whenStripesAreFoldedThenTheAnimalRowHoldsTheTotal() throws Exception {
+        AnimalDto animalDto = animalService.createAnimal(AnimalDtoBuilder.builder()
+                .specie("Okapi")
+                .quantity(2)
+                .build()
+                .toAnimalDto());
+        animalService.increaseAnimalNumber(animalDto.getId(), 1);
+        animalService.increaseAnimalNumber(animalDto.getId(), 1);
+        animalService.decreaseAnimalNumber(animalDto.getId(), 1);
+
+        animalQuantityStripes.fold();
+
+        assertThat(animalRepository.findById(animalDto.getId()).orElseThrow().getQuantity(), is(equalTo(3)));
+        assertThat(animalService.getById(animalDto.getId()).getQuantity(), is(equalTo(3)));
+    }
+}
@@ -0,0 +1,46 @@
+package org.vescm.zooapi.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.vescm.zooapi.enums.RequestBudget;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class AnimalRateLimiterTests {
+    private final AnimalRateLimiter animalRateLimiter = new AnimalRateLimiter(new SimpleMeterRegistry(), true,
+            "X-API-Key", 100, 1, 3, 1, 1);
+
+    @Test
+    void whenBurstIsUsedUpThenNextRequestMustWait() {
+        for (int i = 0; i < 3; i++) {
+            assertThat(animalRateLimiter.tryAcquire(RequestBudget.READ, "client"), is(equalTo(0L)));
+        }
+
+        long waitNanos = animalRateLimiter.tryAcquire(RequestBudget.READ, "client");
+
+        assertThat(waitNanos, is(greaterThan(0L)));
+        assertThat(waitNanos, is(lessThanOrEqualTo(TimeUnit.SECONDS.toNanos(1))));
+    }
+
+    @Test
+    void whenClientsOrBudgetsDifferThenTheyHaveSeparateBuckets() {
+        assertThat(animalRateLimiter.tryAcquire(RequestBudget.WRITE, "client"), is(equalTo(0L)));
+        assertThat(animalRateLimiter.tryAcquire(RequestBudget.WRITE, "client"), is(greaterThan(0L)));
+
+        assertThat(animalRateLimiter.tryAcquire(RequestBudget.WRITE, "other client"), is(equalTo(0L)));
+        assertThat(animalRateLimiter.tryAcquire(RequestBudget.READ, "client"), is(equalTo(0L)));
+    }
+
+    @Test
+    void whenDisabledThenEveryRequestIsAdmitted() {
+        AnimalRateLimiter disabled = new AnimalRateLimiter(new SimpleMeterRegistry(), false,
+                "X-API-Key", 100, 1, 1, 1, 1);
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(disabled.tryAcquire(RequestBudget.WRITE, "client"), is(equalTo(0L)));
+        }
+    }
+}
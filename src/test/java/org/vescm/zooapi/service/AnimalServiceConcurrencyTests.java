@@ -0,0 +1,90 @@
+package org.vescm.zooapi.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.vescm.zooapi.builder.AnimalDtoBuilder;
+import org.vescm.zooapi.constants.AnimalConstants;
+import org.vescm.zooapi.dto.AnimalDto;
+import org.vescm.zooapi.exception.AnimalAlreadyExistsException;
+import org.vescm.zooapi.repository.AnimalRepository;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.vescm.zooapi.utils.ConcurrencyTestUtils.increaseAndDecreaseConcurrently;
+import static org.vescm.zooapi.utils.ConcurrencyTestUtils.increaseConcurrently;
+import static org.vescm.zooapi.utils.ConcurrencyTestUtils.runConcurrently;
+
+@SpringBootTest
+public class AnimalServiceConcurrencyTests {
+    private static final int THREADS = 200;
+    private static final int OPERATIONS = 2000;
+
+    @Autowired
+    private AnimalService animalService;
+
+    @Autowired
+    private AnimalRepository animalRepository;
+
+    @AfterEach
+    void tearDown() {
+        animalRepository.deleteAll();
+    }
+
+    @Test
+    void whenManyThreadsIncrementTheSameAnimalThenNoUpdateIsLost() throws Exception {
+        AnimalDto animalDto = animalService.createAnimal(AnimalDtoBuilder.builder()
+                .specie("Capybara")
+                .quantity(AnimalConstants.MIN + 1)
+                .build()
+                .toAnimalDto());
+
+        int applied = increaseConcurrently(THREADS, OPERATIONS,
+                () -> animalService.increaseAnimalNumber(animalDto.getId(), 1));
+
+        assertThat(applied, is(equalTo(AnimalConstants.MAX - animalDto.getQuantity())));
+        assertThat(animalService.getById(animalDto.getId()).getQuantity(), is(equalTo(AnimalConstants.MAX)));
+    }
+
+    @Test
+    void whenManyThreadsIncrementAndDecrementTheSameAnimalThenNoUpdateIsLost() throws Exception {
+        AnimalDto animalDto = animalService.createAnimal(AnimalDtoBuilder.builder()
+                .specie("Quokka")
+                .quantity(5)
+                .build()
+                .toAnimalDto());
+
+        int netChange = increaseAndDecreaseConcurrently(THREADS, OPERATIONS,
+                () -> animalService.increaseAnimalNumber(animalDto.getId(), 1),
+                () -> animalService.decreaseAnimalNumber(animalDto.getId(), 1));
+
+        int finalQuantity = animalService.getById(animalDto.getId()).getQuantity();
+        assertThat(finalQuantity, is(equalTo(animalDto.getQuantity() + netChange)));
+        assertThat(finalQuantity, is(both(greaterThanOrEqualTo(AnimalConstants.MIN))
+                .and(lessThanOrEqualTo(AnimalConstants.MAX))));
+    }
+
+    @Test
+    void whenManyThreadsCreateTheSameSpecieThenOnlyOneAnimalIsCreated() throws Exception {
+        AnimalDto animalDto = AnimalDtoBuilder.builder().specie("Okapi").build().toAnimalDto();
+        AtomicInteger created = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        runConcurrently(THREADS, OPERATIONS, () -> {
+            try {
+                animalService.createAnimal(animalDto);
+                created.incrementAndGet();
+            } catch (AnimalAlreadyExistsException e) {
+                rejected.incrementAndGet();
+            }
+            return null;
+        });
+
+        assertThat(created.get(), is(equalTo(1)));
+        assertThat(rejected.get(), is(equalTo(OPERATIONS - 1)));
+        assertThat(animalRepository.count(), is(equalTo(1L)));
+    }
+}
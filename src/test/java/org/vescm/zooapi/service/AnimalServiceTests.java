@@ -1,13 +1,21 @@
 package org.vescm.zooapi.service;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.vescm.zooapi.builder.AnimalDtoBuilder;
 import org.vescm.zooapi.constants.AnimalConstants;
 import org.vescm.zooapi.dto.AnimalDto;
+import org.vescm.zooapi.dto.AnimalSearchCriteria;
+import org.vescm.zooapi.enums.Kingdom;
 import org.vescm.zooapi.exception.AnimalAlreadyExistsException;
 import org.vescm.zooapi.exception.AnimalLimitExceededException;
 import org.vescm.zooapi.exception.AnimalNumberAlreadyZeroException;
@@ -16,6 +24,8 @@ import org.vescm.zooapi.mapper.AnimalMapper;
 import org.vescm.zooapi.model.Animal;
 import org.vescm.zooapi.repository.AnimalRepository;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -24,6 +34,7 @@ import static java.util.Optional.empty;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -33,6 +44,36 @@ public class AnimalServiceTests {
     @Mock
     private AnimalRepository animalRepository;
 
+    @Mock
+    private AnimalQuantityCounters animalQuantityCounters;
+
+    @Mock
+    private AnimalQuantityStripes animalQuantityStripes;
+
+    @Mock
+    private AnimalQuantityLocking animalQuantityLocking;
+
+    @Mock
+    private AnimalQuantityPipeline animalQuantityPipeline;
+
+    @Mock
+    private AnimalStatistics animalStatistics;
+
+    @Mock
+    private AnimalChanges animalChanges;
+
+    @Mock
+    private AnimalSnapshots animalSnapshots;
+
+    @Spy
+    private AnimalCache animalCache = new AnimalCache(new SimpleMeterRegistry(), true, 100, Duration.ofMinutes(1));
+
+    @Spy
+    private AnimalLimits animalLimits = new AnimalLimits(AnimalConstants.MIN, AnimalConstants.MAX);
+
+    @Spy
+    private TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+
     private AnimalMapper animalMapper = AnimalMapper.INSTANCE;
 
     @InjectMocks
@@ -45,8 +86,7 @@ public class AnimalServiceTests {
         Animal expectedSavedAnimal = animalMapper.toModel(expectedAnimalDto);
 
         // when
-        when(animalRepository.findBySpecie(expectedAnimalDto.getSpecie())).thenReturn(empty());
-        when(animalRepository.save(expectedSavedAnimal)).thenReturn(expectedSavedAnimal);
+        when(animalRepository.saveAndFlush(any(Animal.class))).thenReturn(expectedSavedAnimal);
 
         //then
         AnimalDto createdAnimalDto = animalService.createAnimal(expectedAnimalDto);
@@ -63,12 +103,26 @@ public class AnimalServiceTests {
         Animal duplicatedAnimal = animalMapper.toModel(expectedAnimalDto);
 
         // when
+        when(animalRepository.saveAndFlush(any(Animal.class))).thenThrow(DataIntegrityViolationException.class);
         when(animalRepository.findBySpecie(expectedAnimalDto.getSpecie())).thenReturn(Optional.of(duplicatedAnimal));
 
         // then
         assertThrows(AnimalAlreadyExistsException.class, () -> animalService.createAnimal(expectedAnimalDto));
     }
 
+    @Test
+    void whenAnimalInsertViolatesAnotherConstraintThenTheErrorIsPropagated() {
+        // given
+        AnimalDto expectedAnimalDto = AnimalDtoBuilder.builder().build().toAnimalDto();
+
+        // when
+        when(animalRepository.saveAndFlush(any(Animal.class))).thenThrow(DataIntegrityViolationException.class);
+        when(animalRepository.findBySpecie(expectedAnimalDto.getSpecie())).thenReturn(empty());
+
+        // then
+        assertThrows(DataIntegrityViolationException.class, () -> animalService.createAnimal(expectedAnimalDto));
+    }
+
     @Test
     void whenValidAnimalNameIsGivenThenReturnAAnimal() throws AnimalNotFoundException {
         // given
@@ -84,6 +138,24 @@ public class AnimalServiceTests {
         assertThat(foundAnimalDto, is(equalTo(expectedFoundAnimalDto)));
     }
 
+    @Test
+    void whenAnimalIsServedFromTheSnapshotThenPendingQuantitiesAreMerged() throws AnimalNotFoundException {
+        // given
+        AnimalDto snapshotAnimalDto = AnimalDtoBuilder.builder().build().toAnimalDto();
+        AnimalDto pendingAnimalDto = AnimalDtoBuilder.builder().quantity(9).build().toAnimalDto();
+
+        // when
+        when(animalSnapshots.findBySpecie(snapshotAnimalDto.getSpecie())).thenReturn(snapshotAnimalDto);
+        when(animalSnapshots.findById(snapshotAnimalDto.getId())).thenReturn(snapshotAnimalDto);
+        when(animalQuantityCounters.isEnabled()).thenReturn(true);
+        when(animalQuantityCounters.merge(snapshotAnimalDto)).thenReturn(pendingAnimalDto);
+
+        // then
+        assertThat(animalService.getBySpecie(snapshotAnimalDto.getSpecie()), is(equalTo(pendingAnimalDto)));
+        assertThat(animalService.getById(snapshotAnimalDto.getId()), is(equalTo(pendingAnimalDto)));
+        verifyNoInteractions(animalRepository);
+    }
+
     @Test
     void whenNotRegisteredAnimalNameIsGivenThenThrowAnException() {
         // given
@@ -103,10 +175,11 @@ public class AnimalServiceTests {
         Animal expectedFoundAnimal = animalMapper.toModel(expectedFoundAnimalDto);
 
         //when
-        when(animalRepository.findAll()).thenReturn(Collections.singletonList(expectedFoundAnimal));
+        when(animalRepository.findByIdGreaterThanOrderByIdAsc(0L, PageRequest.of(0, AnimalConstants.PAGE_SIZE)))
+                .thenReturn(Collections.singletonList(expectedFoundAnimal));
 
         //then
-        List<AnimalDto> foundListAnimalsDTO = animalService.listAll();
+        List<AnimalDto> foundListAnimalsDTO = animalService.listAll(null, AnimalConstants.PAGE_SIZE);
 
         assertThat(foundListAnimalsDTO, is(not(empty())));
         assertThat(foundListAnimalsDTO.get(0), is(equalTo(expectedFoundAnimalDto)));
@@ -115,14 +188,46 @@ public class AnimalServiceTests {
     @Test
     void whenListAnimalIsCalledThenReturnAnEmptyListOfAnimals() {
         //when
-        when(animalRepository.findAll()).thenReturn(Collections.EMPTY_LIST);
+        when(animalRepository.findByIdGreaterThanOrderByIdAsc(0L, PageRequest.of(0, AnimalConstants.PAGE_SIZE)))
+                .thenReturn(Collections.EMPTY_LIST);
 
         //then
-        List<AnimalDto> foundListAnimalsDTO = animalService.listAll();
+        List<AnimalDto> foundListAnimalsDTO = animalService.listAll(null, AnimalConstants.PAGE_SIZE);
 
         assertThat(foundListAnimalsDTO, is(Collections.EMPTY_LIST));
     }
 
+    @Test
+    void whenListAnimalIsCalledWithCursorThenReturnTheNextPageOfAnimals() {
+        // given
+        AnimalDto expectedFoundAnimalDto = AnimalDtoBuilder.builder().id(5L).build().toAnimalDto();
+        Animal expectedFoundAnimal = animalMapper.toModel(expectedFoundAnimalDto);
+
+        //when
+        when(animalRepository.findByIdGreaterThanOrderByIdAsc(4L, PageRequest.of(0, AnimalConstants.MAX_PAGE_SIZE)))
+                .thenReturn(Collections.singletonList(expectedFoundAnimal));
+
+        //then
+        List<AnimalDto> foundListAnimalsDTO = animalService.listAll(4L, AnimalConstants.MAX_PAGE_SIZE + 1);
+
+        assertThat(foundListAnimalsDTO, contains(expectedFoundAnimalDto));
+    }
+
+    @Test
+    void whenSearchIsCalledThenMatchingAnimalsAreReturnedFromTheStartWithAClampedPageSize() {
+        // given
+        AnimalDto expectedFoundAnimalDto = AnimalDtoBuilder.builder().build().toAnimalDto();
+        AnimalSearchCriteria criteria = AnimalSearchCriteria.builder().kingdom(Kingdom.ANIMAL).minQuantity(5).build();
+
+        //when
+        when(animalRepository.search(criteria, 0L, 1)).thenReturn(new ArrayList<>(List.of(expectedFoundAnimalDto)));
+
+        //then
+        List<AnimalDto> foundListAnimalsDTO = animalService.search(criteria, null, 0);
+
+        assertThat(foundListAnimalsDTO, contains(expectedFoundAnimalDto));
+    }
+
     @Test
     void whenExclusionIsCalledWithValidIdThenAAnimalShouldBeDeleted() throws AnimalNotFoundException {
         // given
@@ -138,6 +243,7 @@ public class AnimalServiceTests {
 
         verify(animalRepository, times(1)).findById(expectedDeletedAnimalDto.getId());
         verify(animalRepository, times(1)).deleteById(expectedDeletedAnimalDto.getId());
+        verify(animalStatistics, times(1)).deleted(expectedDeletedAnimalDto);
     }
 
     @Test
@@ -146,18 +252,47 @@ public class AnimalServiceTests {
         AnimalDto expectedAnimalDto = AnimalDtoBuilder.builder().build().toAnimalDto();
         Animal expectedAnimal = animalMapper.toModel(expectedAnimalDto);
 
-        //when
-        when(animalRepository.findById(expectedAnimalDto.getId())).thenReturn(Optional.of(expectedAnimal));
-        when(animalRepository.save(expectedAnimal)).thenReturn(expectedAnimal);
-
         int quantityToIncrement = 2;
         int expectedQuantityAfterIncrement = expectedAnimalDto.getQuantity() + quantityToIncrement;
+        expectedAnimal.setQuantity(expectedQuantityAfterIncrement);
+
+        //when
+        when(animalRepository.increaseQuantity(expectedAnimalDto.getId(), quantityToIncrement, AnimalConstants.MAX)).thenReturn(1);
+        when(animalRepository.findById(expectedAnimalDto.getId())).thenReturn(Optional.of(expectedAnimal));
 
         // then
         AnimalDto incrementedAnimalDto = animalService.increaseAnimalNumber(expectedAnimalDto.getId(), quantityToIncrement);
 
         assertThat(expectedQuantityAfterIncrement, equalTo(incrementedAnimalDto.getQuantity()));
         assertThat(expectedQuantityAfterIncrement, lessThan(AnimalConstants.MAX));
+        verify(animalStatistics, times(1)).quantityChanged(incrementedAnimalDto, quantityToIncrement);
+        verify(transactionTemplate, times(1)).execute(any());
+    }
+
+    @Test
+    void whenGroupCommitIsEnabledThenIncrementIsCommittedByThePipeline()
+            throws AnimalNotFoundException, AnimalLimitExceededException {
+        AnimalDto expectedAnimalDto = AnimalDtoBuilder.builder().build().toAnimalDto();
+
+        when(animalQuantityPipeline.isEnabled()).thenReturn(true);
+        when(animalQuantityPipeline.increase(expectedAnimalDto.getId(), 2)).thenReturn(expectedAnimalDto);
+
+        assertThat(animalService.increaseAnimalNumber(expectedAnimalDto.getId(), 2), is(equalTo(expectedAnimalDto)));
+        verify(animalRepository, never()).increaseQuantity(anyLong(), anyInt(), anyInt());
+    }
+
+    @Test
+    void whenGroupCommitIsEnabledThenDecrementIsCommittedByThePipeline()
+            throws AnimalNotFoundException, AnimalNumberAlreadyZeroException {
+        AnimalDto expectedAnimalDto = AnimalDtoBuilder.builder().build().toAnimalDto();
+
+        when(animalQuantityPipeline.isEnabled()).thenReturn(true);
+        when(animalQuantityPipeline.decrease(expectedAnimalDto.getId(), 1))
+                .thenThrow(AnimalNumberAlreadyZeroException.class);
+
+        assertThrows(AnimalNumberAlreadyZeroException.class,
+                () -> animalService.decreaseAnimalNumber(expectedAnimalDto.getId(), 1));
+        verify(animalRepository, never()).decreaseQuantity(anyLong(), anyInt(), anyInt());
     }
 
     @Test
@@ -196,11 +331,12 @@ public class AnimalServiceTests {
         AnimalDto expectedAnimalDto = AnimalDtoBuilder.builder().build().toAnimalDto();
         Animal expectedAnimal = animalMapper.toModel(expectedAnimalDto);
 
-        when(animalRepository.findById(expectedAnimalDto.getId())).thenReturn(Optional.of(expectedAnimal));
-        when(animalRepository.save(expectedAnimal)).thenReturn(expectedAnimal);
-
         int quantityToDecrement = 5;
         int expectedQuantityAfterDecrement = expectedAnimalDto.getQuantity() - quantityToDecrement;
+        expectedAnimal.setQuantity(expectedQuantityAfterDecrement);
+
+        when(animalRepository.decreaseQuantity(expectedAnimalDto.getId(), quantityToDecrement, AnimalConstants.MIN)).thenReturn(1);
+        when(animalRepository.findById(expectedAnimalDto.getId())).thenReturn(Optional.of(expectedAnimal));
         AnimalDto incrementedAnimalDto = animalService.decreaseAnimalNumber(expectedAnimalDto.getId(), quantityToDecrement);
 
         assertThat(expectedQuantityAfterDecrement, equalTo(incrementedAnimalDto.getQuantity()));
@@ -212,11 +348,12 @@ public class AnimalServiceTests {
         AnimalDto expectedAnimalDto = AnimalDtoBuilder.builder().build().toAnimalDto();
         Animal expectedAnimal = animalMapper.toModel(expectedAnimalDto);
 
-        when(animalRepository.findById(expectedAnimalDto.getId())).thenReturn(Optional.of(expectedAnimal));
-        when(animalRepository.save(expectedAnimal)).thenReturn(expectedAnimal);
-
         int quantityToDecrement = 7;
         int expectedQuantityAfterDecrement = expectedAnimalDto.getQuantity() - quantityToDecrement;
+        expectedAnimal.setQuantity(expectedQuantityAfterDecrement);
+
+        when(animalRepository.decreaseQuantity(expectedAnimalDto.getId(), quantityToDecrement, AnimalConstants.MIN)).thenReturn(1);
+        when(animalRepository.findById(expectedAnimalDto.getId())).thenReturn(Optional.of(expectedAnimal));
         AnimalDto incrementedAnimalDto = animalService.decreaseAnimalNumber(expectedAnimalDto.getId(), quantityToDecrement);
 
         assertThat(expectedQuantityAfterDecrement, equalTo(0));
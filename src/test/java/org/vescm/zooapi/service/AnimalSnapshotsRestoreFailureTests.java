@@ -0,0 +1,67 @@
+package org.vescm.zooapi.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.vescm.zooapi.builder.AnimalDtoBuilder;
+import org.vescm.zooapi.repository.AnimalRepository;
+import org.vescm.zooapi.snapshot.AnimalSnapshot;
+
+import javax.sql.DataSource;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Collections;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class AnimalSnapshotsRestoreFailureTests {
+    @Mock
+    private AnimalRepository animalRepository;
+
+    @Mock
+    private AnimalQuantityCounters animalQuantityCounters;
+
+    @Mock
+    private AnimalQuantityStripes animalQuantityStripes;
+
+    @Mock
+    private AnimalStatistics animalStatistics;
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void whenRestoreFailsThenTheSnapshotFileIsNotOverwritten() throws Exception {
+        Path file = Files.createTempDirectory("zooapi-snapshot").resolve("animals.snapshot");
+        AnimalSnapshot.write(file, Collections.singletonList(AnimalDtoBuilder.builder().build().toAnimalDto()));
+        byte[] original = Files.readAllBytes(file);
+        when(animalRepository.count()).thenReturn(0L);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenThrow(new SQLException("disk full"));
+        AnimalSnapshots animalSnapshots = new AnimalSnapshots(animalRepository, animalQuantityCounters,
+                animalQuantityStripes, animalStatistics, dataSource, transactionManager, true, file.toString());
+
+        animalSnapshots.warmUp();
+        animalSnapshots.awaitRestore();
+        animalSnapshots.write();
+        animalSnapshots.writeOnShutdown();
+
+        assertThat(animalSnapshots.isRestoreFailed(), is(true));
+        assertThat(Files.readAllBytes(file), is(equalTo(original)));
+        verify(animalRepository, never()).streamAll();
+    }
+}
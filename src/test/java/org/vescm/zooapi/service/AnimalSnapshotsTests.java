@@ -0,0 +1,56 @@
+package org.vescm.zooapi.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.vescm.zooapi.builder.AnimalDtoBuilder;
+import org.vescm.zooapi.dto.AnimalDto;
+import org.vescm.zooapi.repository.AnimalRepository;
+import org.vescm.zooapi.snapshot.AnimalSnapshot;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@SpringBootTest
+public class AnimalSnapshotsTests {
+    private static final AnimalDto OKAPI = AnimalDtoBuilder.builder().id(100L).specie("Okapi").build().toAnimalDto();
+    private static final AnimalDto TAPIR = AnimalDtoBuilder.builder().id(250L).specie("Tapir").build().toAnimalDto();
+
+    @Autowired
+    private AnimalService animalService;
+
+    @Autowired
+    private AnimalSnapshots animalSnapshots;
+
+    @Autowired
+    private AnimalRepository animalRepository;
+
+    @DynamicPropertySource
+    static void snapshotProperties(DynamicPropertyRegistry registry) throws IOException {
+        Path file = Files.createTempDirectory("zooapi-snapshot").resolve("animals.snapshot");
+        AnimalSnapshot.write(file, Arrays.asList(OKAPI, TAPIR));
+        registry.add("spring.datasource.url", () -> "jdbc:h2:mem:snapshot-restore;DB_CLOSE_DELAY=-1");
+        registry.add("zooapi.snapshot.enabled", () -> "true");
+        registry.add("zooapi.snapshot.path", file::toString);
+    }
+
+    @Test
+    void whenSnapshotExistsOnStartupThenItIsRestoredAndNewIdsFollowIt() throws Exception {
+        assertThat(animalService.getBySpecie("Tapir"), is(equalTo(TAPIR)));
+
+        animalSnapshots.awaitRestore();
+
+        assertThat(animalSnapshots.isWarmingUp(), is(false));
+        assertThat(animalRepository.count(), is(2L));
+        assertThat(animalService.getById(OKAPI.getId()), is(equalTo(OKAPI)));
+        AnimalDto created = animalService.createAnimal(AnimalDtoBuilder.builder().specie("Zebu").build().toAnimalDto());
+        assertThat(created.getId(), is(greaterThan(TAPIR.getId())));
+    }
+}
@@ -0,0 +1,82 @@
+package org.vescm.zooapi.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.vescm.zooapi.builder.AnimalDtoBuilder;
+import org.vescm.zooapi.dto.AnimalDto;
+import org.vescm.zooapi.repository.AnimalQuantityTotal;
+import org.vescm.zooapi.repository.AnimalRepository;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.vescm.zooapi.utils.ConcurrencyTestUtils.runConcurrently;
+
+@SpringBootTest(properties = "zooapi.stats.reconcile-interval=3600000")
+public class AnimalStatisticsConcurrencyTests {
+    private static final int THREADS = 16;
+    private static final int OPERATIONS = 400;
+
+    @Autowired
+    private AnimalService animalService;
+
+    @Autowired
+    private AnimalStatistics animalStatistics;
+
+    @Autowired
+    private AnimalRepository animalRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @AfterEach
+    void tearDown() {
+        animalRepository.deleteAll();
+        animalStatistics.load();
+    }
+
+    @Test
+    void whenReconciliationRacesCreatesAndDeletesThenNoDriftIsCorrected() throws Exception {
+        double driftBefore = drift();
+        AtomicInteger species = new AtomicInteger();
+        AtomicBoolean writing = new AtomicBoolean(true);
+        Thread reconciler = new Thread(() -> {
+            while (writing.get()) {
+                animalStatistics.reconcile();
+            }
+        });
+        reconciler.start();
+        try {
+            runConcurrently(THREADS, OPERATIONS, () -> {
+                AnimalDto animalDto = animalService.createAnimal(AnimalDtoBuilder.builder()
+                        .specie("Specie " + species.incrementAndGet())
+                        .quantity(3)
+                        .build()
+                        .toAnimalDto());
+                if (animalDto.getId() % 2 == 0) {
+                    animalService.deleteById(animalDto.getId());
+                }
+                return null;
+            });
+        } finally {
+            writing.set(false);
+            reconciler.join();
+        }
+
+        long quantity = animalRepository.totalsByKingdomAndPhylum().stream()
+                .mapToLong(AnimalQuantityTotal::getQuantity)
+                .sum();
+        assertThat(drift(), is(equalTo(driftBefore)));
+        assertThat(animalService.getStatistics().getSpecies(), is(equalTo(animalRepository.count())));
+        assertThat(animalService.getStatistics().getQuantity(), is(equalTo(quantity)));
+    }
+
+    private double drift() {
+        return meterRegistry.get("zooapi.animals.stats.drift").counter().count();
+    }
+}
@@ -0,0 +1,163 @@
+package org.vescm.zooapi.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.vescm.zooapi.builder.AnimalDtoBuilder;
+import org.vescm.zooapi.dto.AnimalDto;
+import org.vescm.zooapi.dto.AnimalStatsDto;
+import org.vescm.zooapi.enums.Kingdom;
+import org.vescm.zooapi.enums.Phylum;
+import org.vescm.zooapi.repository.AnimalQuantityTotal;
+import org.vescm.zooapi.repository.AnimalRepository;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class AnimalStatisticsTests {
+    @Mock
+    private AnimalRepository animalRepository;
+
+    @Mock
+    private AnimalQuantityCounters animalQuantityCounters;
+
+    @Mock
+    private AnimalQuantityStripes animalQuantityStripes;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private AnimalStatistics animalStatistics;
+
+    @BeforeEach
+    void setUp() {
+        animalStatistics = new AnimalStatistics(animalRepository, animalQuantityCounters, animalQuantityStripes,
+                meterRegistry);
+    }
+
+    @Test
+    void whenAnimalsChangeThenTotalsAreUpdatedByKingdomAndPhylum() {
+        AnimalDto lion = AnimalDtoBuilder.builder().id(1L).specie("Lion").quantity(4).build().toAnimalDto();
+        AnimalDto octopus = AnimalDtoBuilder.builder().id(2L).specie("Octopus").phylum(Phylum.MOLLUSCA)
+                .quantity(3).build().toAnimalDto();
+
+        animalStatistics.created(lion);
+        animalStatistics.created(octopus);
+        animalStatistics.quantityChanged(lion, 2);
+        animalStatistics.deleted(octopus);
+
+        AnimalStatsDto stats = animalStatistics.snapshot();
+        assertThat(stats.getSpecies(), is(equalTo(1L)));
+        assertThat(stats.getQuantity(), is(equalTo(6L)));
+        assertThat(stats.getQuantityByKingdom().get(Kingdom.ANIMAL), is(equalTo(6L)));
+        assertThat(stats.getSpeciesByPhylum().get(Phylum.CHORDATA), is(equalTo(1L)));
+        assertThat(stats.getSpeciesByPhylum().get(Phylum.MOLLUSCA), is(equalTo(0L)));
+        assertThat(animalStatistics.quantity(Kingdom.ANIMAL, Phylum.CHORDATA), is(equalTo(6L)));
+    }
+
+    @Test
+    void whenTotalsDriftFromDatabaseThenReconciliationCorrectsThem() {
+        animalStatistics.created(AnimalDtoBuilder.builder().quantity(4).build().toAnimalDto());
+        when(animalRepository.totalsByKingdomAndPhylum())
+                .thenReturn(Collections.singletonList(total(Kingdom.ANIMAL, Phylum.CHORDATA, 2, 9)));
+
+        animalStatistics.reconcile();
+
+        AnimalStatsDto stats = animalStatistics.snapshot();
+        assertThat(stats.getSpecies(), is(equalTo(2L)));
+        assertThat(stats.getQuantity(), is(equalTo(9L)));
+        assertThat(meterRegistry.get("zooapi.animals.stats.drift").counter().count(), is(equalTo(1.0)));
+    }
+
+    @Test
+    void whenCountersAreEnabledThenTheyAreFlushedBeforeReconciliation() {
+        when(animalQuantityCounters.isEnabled()).thenReturn(true);
+        when(animalRepository.totalsByKingdomAndPhylum()).thenReturn(Collections.emptyList());
+
+        animalStatistics.reconcile();
+
+        verify(animalQuantityCounters).flush();
+        assertThat(meterRegistry.get("zooapi.animals.stats.drift").counter().count(), is(equalTo(0.0)));
+    }
+
+    @Test
+    void whenAChangeIsCommittedButNotAppliedYetThenReconciliationIsSkipped() {
+        TransactionSynchronizationManager.initSynchronization();
+        List<TransactionSynchronization> synchronizations;
+        try {
+            animalStatistics.created(AnimalDtoBuilder.builder().quantity(4).build().toAnimalDto());
+            synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        animalStatistics.reconcile();
+        verify(animalRepository, never()).totalsByKingdomAndPhylum();
+
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        synchronizations.forEach(synchronization ->
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        when(animalRepository.totalsByKingdomAndPhylum())
+                .thenReturn(Collections.singletonList(total(Kingdom.ANIMAL, Phylum.CHORDATA, 1, 4)));
+        animalStatistics.reconcile();
+
+        AnimalStatsDto stats = animalStatistics.snapshot();
+        assertThat(stats.getSpecies(), is(equalTo(1L)));
+        assertThat(stats.getQuantity(), is(equalTo(4L)));
+        assertThat(meterRegistry.get("zooapi.animals.stats.drift").counter().count(), is(equalTo(0.0)));
+    }
+
+    @Test
+    void whenTransactionRollsBackThenReconciliationIsNotBlocked() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            animalStatistics.created(AnimalDtoBuilder.builder().quantity(4).build().toAnimalDto());
+            TransactionSynchronizationManager.getSynchronizations().forEach(synchronization ->
+                    synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        when(animalRepository.totalsByKingdomAndPhylum()).thenReturn(Collections.emptyList());
+
+        animalStatistics.reconcile();
+
+        verify(animalRepository).totalsByKingdomAndPhylum();
+        assertThat(animalStatistics.snapshot().getSpecies(), is(equalTo(0L)));
+    }
+
+    private static AnimalQuantityTotal total(Kingdom kingdom, Phylum phylum, long species, long quantity) {
+        return new AnimalQuantityTotal() {
+            @Override
+            public Kingdom getKingdom() {
+                return kingdom;
+            }
+
+            @Override
+            public Phylum getPhylum() {
+                return phylum;
+            }
+
+            @Override
+            public Long getSpecies() {
+                return species;
+            }
+
+            @Override
+            public Long getQuantity() {
+                return quantity;
+            }
+        };
+    }
+}
@@ -0,0 +1,120 @@
+package org.vescm.zooapi.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.vescm.zooapi.builder.AnimalDtoBuilder;
+import org.vescm.zooapi.constants.AnimalConstants;
+import org.vescm.zooapi.dto.AnimalDto;
+import org.vescm.zooapi.exception.AnimalAlreadyExistsException;
+import org.vescm.zooapi.mapper.AnimalMapper;
+import org.vescm.zooapi.model.Animal;
+import org.vescm.zooapi.repository.ReactiveAnimalRepository;
+import reactor.core.publisher.Mono;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ReactiveAnimalServiceTests {
+    @Mock
+    private ReactiveAnimalRepository animalRepository;
+
+    @Mock
+    private AnimalStatistics animalStatistics;
+
+    @Mock
+    private AnimalChanges animalChanges;
+
+    @Spy
+    private AnimalLimits animalLimits = new AnimalLimits(AnimalConstants.MIN, AnimalConstants.MAX);
+
+    private AnimalMapper animalMapper = AnimalMapper.INSTANCE;
+
+    @InjectMocks
+    private ReactiveAnimalService animalService;
+
+    @Test
+    void whenAnimalIsCreatedThenStatisticsAndChangesAreRecordedInsideAChange() {
+        AnimalDto animalDto = AnimalDtoBuilder.builder().build().toAnimalDto();
+        Animal animal = animalMapper.toModel(animalDto);
+
+        when(animalRepository.insert(any(Animal.class))).thenReturn(Mono.just(animal));
+
+        AnimalDto created = animalService.createAnimal(animalDto).block();
+
+        assertThat(created, is(equalTo(animalDto)));
+        InOrder inOrder = inOrder(animalStatistics, animalChanges);
+        inOrder.verify(animalStatistics).beginChange();
+        inOrder.verify(animalStatistics).created(animalDto);
+        inOrder.verify(animalChanges).created(animalDto);
+        inOrder.verify(animalStatistics).endChange();
+    }
+
+    @Test
+    void whenSpecieAlreadyExistsThenAnExceptionIsThrown() {
+        AnimalDto animalDto = AnimalDtoBuilder.builder().build().toAnimalDto();
+        Animal animal = animalMapper.toModel(animalDto);
+
+        when(animalRepository.insert(any(Animal.class)))
+                .thenReturn(Mono.error(new DataIntegrityViolationException("duplicate")));
+        when(animalRepository.findBySpecie(animalDto.getSpecie())).thenReturn(Mono.just(animal));
+
+        assertThat(errorOf(animalService.createAnimal(animalDto)), is(instanceOf(AnimalAlreadyExistsException.class)));
+        verify(animalStatistics).endChange();
+        verify(animalChanges, never()).created(any(AnimalDto.class));
+    }
+
+    @Test
+    void whenAnotherConstraintIsViolatedThenTheOriginalExceptionIsThrown() {
+        AnimalDto animalDto = AnimalDtoBuilder.builder().build().toAnimalDto();
+        DataIntegrityViolationException violation = new DataIntegrityViolationException("quantity");
+
+        when(animalRepository.insert(any(Animal.class))).thenReturn(Mono.error(violation));
+        when(animalRepository.findBySpecie(animalDto.getSpecie())).thenReturn(Mono.empty());
+
+        assertThat(errorOf(animalService.createAnimal(animalDto)), is(sameInstance(violation)));
+    }
+
+    @Test
+    void whenAnimalIsDeletedThenStatisticsAndChangesAreRecorded() {
+        AnimalDto animalDto = AnimalDtoBuilder.builder().build().toAnimalDto();
+
+        when(animalRepository.findById(animalDto.getId())).thenReturn(Mono.just(animalMapper.toModel(animalDto)));
+        when(animalRepository.deleteById(animalDto.getId())).thenReturn(Mono.just(1));
+
+        animalService.deleteById(animalDto.getId()).block();
+
+        verify(animalStatistics).beginChange();
+        verify(animalStatistics).deleted(animalDto);
+        verify(animalChanges).deleted(animalDto);
+        verify(animalStatistics).endChange();
+    }
+
+    @Test
+    void whenQuantityIsIncreasedThenStatisticsAndChangesAreRecorded() {
+        AnimalDto animalDto = AnimalDtoBuilder.builder().quantity(7).build().toAnimalDto();
+
+        when(animalRepository.addQuantity(animalDto.getId(), 2, AnimalConstants.MIN, AnimalConstants.MAX))
+                .thenReturn(Mono.just(1));
+        when(animalRepository.findById(animalDto.getId())).thenReturn(Mono.just(animalMapper.toModel(animalDto)));
+
+        AnimalDto increased = animalService.increaseAnimalNumber(animalDto.getId(), 2).block();
+
+        assertThat(increased.getQuantity(), is(equalTo(7)));
+        verify(animalStatistics).quantityChanged(animalDto, 2);
+        verify(animalChanges).quantityChanged(animalDto, 2);
+        verify(animalStatistics).endChange();
+    }
+
+    private Throwable errorOf(Mono<?> mono) {
+        return mono.then(Mono.<Throwable>empty()).onErrorResume(Mono::just).block();
+    }
+}
@@ -0,0 +1,63 @@
+package org.vescm.zooapi.snapshot;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.vescm.zooapi.builder.AnimalDtoBuilder;
+import org.vescm.zooapi.dto.AnimalDto;
+import org.vescm.zooapi.enums.Kingdom;
+import org.vescm.zooapi.enums.Phylum;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class AnimalSnapshotTests {
+    @TempDir
+    Path directory;
+
+    private final AnimalDto aardvark = AnimalDtoBuilder.builder().id(7L).specie("Aa").quantity(2).build().toAnimalDto();
+    private final AnimalDto bonobo = AnimalDtoBuilder.builder().id(3L).specie("BB")
+            .kingdom(Kingdom.FUNGI).phylum(Phylum.MOLLUSCA).quantity(9).build().toAnimalDto();
+    private final AnimalDto axolotl = AnimalDtoBuilder.builder().id(12L).specie("Axolotl ñ").build().toAnimalDto();
+
+    @Test
+    void whenSnapshotIsWrittenThenAnimalsAreFoundById() throws IOException {
+        AnimalSnapshot snapshot = writeAndOpen();
+
+        assertThat(snapshot.size(), is(3));
+        assertThat(snapshot.findById(3L), is(equalTo(bonobo)));
+        assertThat(snapshot.findById(12L), is(equalTo(axolotl)));
+        assertThat(snapshot.findById(5L), is(nullValue()));
+    }
+
+    @Test
+    void whenSpeciesShareAHashCodeThenTheyAreStillFoundBySpecie() throws IOException {
+        AnimalSnapshot snapshot = writeAndOpen();
+
+        assertThat("Aa".hashCode(), is("BB".hashCode()));
+        assertThat(snapshot.findBySpecie("Aa"), is(equalTo(aardvark)));
+        assertThat(snapshot.findBySpecie("BB"), is(equalTo(bonobo)));
+        assertThat(snapshot.findBySpecie("Axolotl ñ"), is(equalTo(axolotl)));
+        assertThat(snapshot.findBySpecie("Unicorn"), is(nullValue()));
+    }
+
+    @Test
+    void whenSnapshotIsIteratedThenAnimalsAreReturnedInIdOrder() throws IOException {
+        List<AnimalDto> animals = new ArrayList<>();
+
+        writeAndOpen().forEach(animals::add);
+
+        assertThat(animals, contains(bonobo, aardvark, axolotl));
+    }
+
+    private AnimalSnapshot writeAndOpen() throws IOException {
+        Path file = directory.resolve("animals.snapshot");
+        AnimalSnapshot.write(file, Arrays.asList(aardvark, bonobo, axolotl));
+        return AnimalSnapshot.open(file);
+    }
+}
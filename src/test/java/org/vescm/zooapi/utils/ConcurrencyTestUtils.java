@@ -0,0 +1,76 @@
+package org.vescm.zooapi.utils;
+
+import org.vescm.zooapi.dto.AnimalDto;
+import org.vescm.zooapi.exception.AnimalLimitExceededException;
+import org.vescm.zooapi.exception.AnimalNumberAlreadyZeroException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ConcurrencyTestUtils {
+    public static void runConcurrently(int threads, int operations, Callable<Void> operation) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Void>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < operations; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return operation.call();
+                }));
+            }
+            start.countDown();
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    public static int increaseConcurrently(int threads, int operations, QuantityChange increase) throws Exception {
+        AtomicInteger applied = new AtomicInteger();
+        runConcurrently(threads, operations, () -> {
+            try {
+                if (increase.apply() != null) {
+                    applied.incrementAndGet();
+                }
+            } catch (AnimalLimitExceededException ignored) {
+            }
+            return null;
+        });
+        return applied.get();
+    }
+
+    public static int increaseAndDecreaseConcurrently(int threads, int operations,
+                                                      QuantityChange increase,
+                                                      QuantityChange decrease) throws Exception {
+        AtomicInteger operation = new AtomicInteger();
+        AtomicInteger netChange = new AtomicInteger();
+        runConcurrently(threads, operations, () -> {
+            try {
+                if (operation.getAndIncrement() % 2 == 0) {
+                    if (increase.apply() != null) {
+                        netChange.incrementAndGet();
+                    }
+                } else if (decrease.apply() != null) {
+                    netChange.decrementAndGet();
+                }
+            } catch (AnimalLimitExceededException | AnimalNumberAlreadyZeroException ignored) {
+            }
+            return null;
+        });
+        return netChange.get();
+    }
+
+    @FunctionalInterface
+    public interface QuantityChange {
+        AnimalDto apply() throws Exception;
+    }
+}
@@ -0,0 +1,43 @@
+package org.vescm.zooapi.validation;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.vescm.zooapi.dto.AnimalQuantityDto;
+import org.vescm.zooapi.dto.QuantityDto;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validation;
+import javax.validation.Validator;
+import java.util.Set;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@SpringBootTest(properties = "zooapi.animals.max=100")
+public class WithinAnimalLimitsValidatorTests {
+    @Autowired
+    private Validator validator;
+
+    @Test
+    void whenQuantityIsWithinTheConfiguredMaximumThenItIsValid() {
+        assertThat(validator.validate(new QuantityDto(50)), is(empty()));
+        assertThat(validator.validate(new AnimalQuantityDto(1L, 100)), is(empty()));
+    }
+
+    @Test
+    void whenQuantityIsAboveTheConfiguredMaximumThenTheMaximumIsReported() {
+        Set<ConstraintViolation<QuantityDto>> violations = validator.validate(new QuantityDto(101));
+
+        assertThat(violations, hasSize(1));
+        assertThat(violations.iterator().next().getMessage(), is(equalTo("must be less than or equal to 100")));
+    }
+
+    @Test
+    void whenValidatorIsBuiltOutsideSpringThenTheDefaultMaximumApplies() {
+        Validator defaultValidator = Validation.buildDefaultValidatorFactory().getValidator();
+
+        assertThat(defaultValidator.validate(new QuantityDto(10)), is(empty()));
+        assertThat(defaultValidator.validate(new QuantityDto(11)), hasSize(1));
+    }
+}